@@ -0,0 +1,69 @@
+package org.algorithm.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON results (-rf json) benchmark by benchmark, on both the score and the
+ * normalized allocation rate from -prof gc, and exits with 1 when anything got worse than the
+ * threshold. Usage: BaselineComparison baseline.json current.json [thresholdPercent]
+ */
+public final class BaselineComparison {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Map<String, double[]> baseline = load(Path.of(args[0]));
+        Map<String, double[]> current = load(Path.of(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        int regressions = 0;
+        System.out.printf("%-70s %12s %12s %8s %12s %12s%n", "benchmark", "base", "now", "delta", "base B/op", "now B/op");
+        for (Map.Entry<String, double[]> entry : current.entrySet()) {
+            double[] before = baseline.get(entry.getKey());
+            double[] now = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-70s %12s %12.3f %8s%n", entry.getKey(), "-", now[0], "new");
+                continue;
+            }
+            double delta = (now[0] - before[0]) / before[0] * 100;
+            // Scores are times per operation, higher is worse; allocation grows by more than a few bytes is worse too
+            boolean slower = delta > threshold;
+            boolean moreGarbage = now[1] > before[1] * (1 + threshold / 100) + 16;
+            if (slower || moreGarbage) regressions++;
+            System.out.printf("%-70s %12.3f %12.3f %+7.1f%% %12.0f %12.0f%s%n", entry.getKey(), before[0], now[0], delta,
+                    before[1], now[1], slower || moreGarbage ? "  REGRESSION" : "");
+        }
+        System.out.println(regressions == 0 ? "No regressions over " + threshold + "%"
+                : regressions + " regression(s) over " + threshold + "%");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // benchmark name with its parameters -> {score, bytes allocated per operation or NaN}
+    private static Map<String, double[]> load(Path file) throws IOException {
+        Map<String, double[]> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(run.get("benchmark").asText().replace("org.algorithm.", ""));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(param -> name.append(' ').append(param.getKey()).append('=')
+                        .append(param.getValue().asText()));
+            }
+            double score = run.get("primaryMetric").get("score").asDouble();
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION).path("score");
+            results.put(name.toString(), new double[]{score, allocation.isMissingNode() ? Double.NaN : allocation.asDouble()});
+        }
+        return results;
+    }
+}
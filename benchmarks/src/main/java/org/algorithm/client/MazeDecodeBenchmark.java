@@ -0,0 +1,68 @@
+package org.algorithm.client;
+
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+import org.algorithm.server.MazeGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/** Maze reply decoding in both wire formats, from bytes already in the socket buffer. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MazeDecodeBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int size;
+
+    private Client serializedClient;
+    private Client binaryClient;
+
+    @Setup
+    public void setup(Blackhole blackhole) throws IOException {
+        Maze maze = MazeGenerator.generate(size, size, "animals", 42);
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+            oos.writeObject(maze.getGrid().toNodes());
+        }
+        byte[] line = (Base64.getEncoder().encodeToString(serialized.toByteArray()) + "\n").getBytes(StandardCharsets.US_ASCII);
+        serializedClient = new Client(new RepeatingInputStream(line), OutputStream.nullOutputStream(), new NoOpGameListener(blackhole));
+
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        BinaryMazeCodec.write(frame, maze);
+        binaryClient = new Client(new RepeatingInputStream(frame.toByteArray()), OutputStream.nullOutputStream(), new NoOpGameListener(blackhole));
+    }
+
+    @Benchmark
+    public Node[][] receiveSerializedMaze() {
+        return serializedClient.receiveMaze();
+    }
+
+    @Benchmark
+    public MazeGrid receiveBinaryMaze() {
+        return binaryClient.receiveBinaryMaze();
+    }
+}
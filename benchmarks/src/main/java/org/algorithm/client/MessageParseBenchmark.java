@@ -0,0 +1,61 @@
+package org.algorithm.client;
+
+import org.algorithm.components.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady state gameplay messages: {@code receiveNode} on a bare position line, and the listener
+ * path (read line, dispatch) for an opponent move followed by its score update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageParseBenchmark {
+    private static final String POSITIONS = "(12,34)\n(7,199)\n(150,3)\n(0,0)\n";
+    private static final String OPPONENT_MOVE = "node\n(12,34)\notherScore\n17\n";
+
+    private Client client;
+    private ProtocolInputStream listenerInput;
+    private GameEventDispatcher dispatcher;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        GameListener listener = new NoOpGameListener(blackhole);
+        client = new Client(new RepeatingInputStream(POSITIONS.getBytes(StandardCharsets.US_ASCII)),
+                OutputStream.nullOutputStream(), listener);
+        listenerInput = new ProtocolInputStream(new RepeatingInputStream(OPPONENT_MOVE.getBytes(StandardCharsets.US_ASCII)));
+        dispatcher = new GameEventDispatcher(listener);
+    }
+
+    @Benchmark
+    public Node receiveNode() {
+        return client.receiveNode();
+    }
+
+    /** Four lines: "node", position, "otherScore", score. */
+    @Benchmark
+    public void dispatchOpponentMove() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            int length = listenerInput.readLineBytes();
+            dispatcher.onLine(listenerInput.lineBytes(), length);
+        }
+    }
+}
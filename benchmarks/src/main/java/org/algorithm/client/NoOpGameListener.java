@@ -0,0 +1,51 @@
+package org.algorithm.client;
+
+import org.algorithm.maze_builder.Maze;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Feeds every event into a Blackhole so the dispatch work is not optimized away. */
+final class NoOpGameListener implements GameListener {
+    private final Blackhole blackhole;
+
+    NoOpGameListener(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void onMazeLoaded(Maze maze) {
+        blackhole.consume(maze);
+    }
+
+    @Override
+    public void onOpponentMove(int row, int col) {
+        blackhole.consume(row);
+        blackhole.consume(col);
+    }
+
+    @Override
+    public void onTurnChange(boolean playerTurn) {
+        blackhole.consume(playerTurn);
+    }
+
+    @Override
+    public void onScore(int score) {
+        blackhole.consume(score);
+    }
+
+    @Override
+    public void onOpponentScore(int score) {
+        blackhole.consume(score);
+    }
+
+    @Override
+    public void onMoveAck(int sequence, int row, int col, int score) {
+        blackhole.consume(sequence);
+        blackhole.consume(row);
+        blackhole.consume(col);
+    }
+
+    @Override
+    public void onGameOver() {
+        blackhole.consume(true);
+    }
+}
@@ -0,0 +1,28 @@
+package org.algorithm.client;
+
+import java.io.InputStream;
+
+/** Endless input replaying the same server bytes, so a benchmark never runs out of messages. */
+final class RepeatingInputStream extends InputStream {
+    private final byte[] data;
+    private int position;
+
+    RepeatingInputStream(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public int read() {
+        int value = data[position] & 0xFF;
+        position = (position + 1) % data.length;
+        return value;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        int count = Math.min(len, data.length - position);
+        System.arraycopy(data, position, b, off, count);
+        position = (position + count) % data.length;
+        return count;
+    }
+}
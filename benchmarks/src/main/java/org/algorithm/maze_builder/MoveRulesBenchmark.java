@@ -0,0 +1,81 @@
+package org.algorithm.maze_builder;
+
+import org.algorithm.server.MazeGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Move validation for every cell and all eight directions of a full grid. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveRulesBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int size;
+
+    private MazeGrid grid;
+
+    @Setup
+    public void setup() {
+        grid = MazeGenerator.generate(size, size, "animals", 42).getGrid();
+    }
+
+    @Benchmark
+    public int isValidMoveFullGrid() {
+        int open = 0;
+        for (int row = 0; row < grid.getRows(); row++) {
+            for (int col = 0; col < grid.getCols(); col++) {
+                for (int d = 0; d < MoveRules.DELTA_ROW.length; d++) {
+                    if (MoveRules.isValidMove(grid, row, col, row + MoveRules.DELTA_ROW[d], col + MoveRules.DELTA_COL[d])) {
+                        open++;
+                    }
+                }
+            }
+        }
+        return open;
+    }
+
+    @Benchmark
+    public int moveMaskFullGrid() {
+        int open = 0;
+        for (int row = 0; row < grid.getRows(); row++) {
+            for (int col = 0; col < grid.getCols(); col++) {
+                open += Integer.bitCount(grid.moveMask(row, col));
+            }
+        }
+        return open;
+    }
+
+    @Benchmark
+    public int possibleMoveFullGrid() {
+        int open = 0;
+        for (int row = 0; row < grid.getRows(); row++) {
+            for (int col = 0; col < grid.getCols(); col++) {
+                int borders = grid.getBorders(row, col);
+                for (int d = 0; d < MoveRules.DELTA_ROW.length; d++) {
+                    int nextRow = row + MoveRules.DELTA_ROW[d];
+                    int nextCol = col + MoveRules.DELTA_COL[d];
+                    if (grid.contains(nextRow, nextCol)
+                            && MoveRules.possibleMove(MoveRules.DELTA_ROW[d], MoveRules.DELTA_COL[d], borders, grid.getBorders(nextRow, nextCol))) {
+                        open++;
+                    }
+                }
+            }
+        }
+        return open;
+    }
+}
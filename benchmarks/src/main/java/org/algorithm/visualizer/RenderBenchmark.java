@@ -0,0 +1,88 @@
+package org.algorithm.visualizer;
+
+import javafx.application.Platform;
+import javafx.scene.layout.Pane;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.server.MazeGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maze construction as done by regenerateMaze, on the headless Monocle platform, for the cells of
+ * a 1280x800 view plus the viewport margin; scrollOneColumn measures recycling as the view moves.
+ * The pane is not attached to a scene, so building it off the FX thread is allowed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw"})
+public class RenderBenchmark {
+    private static final int VIEW_ROWS = 20;
+    private static final int VIEW_COLS = 30;
+
+    @Param({"scene", "canvas"})
+    public String renderer;
+
+    @Param({"10", "50", "100"})
+    public int size;
+
+    private MazeRenderer mazeRenderer;
+    private Maze maze;
+    private Pane pane;
+    private int viewRows;
+    private int viewCols;
+    private int scrollCol;
+    private int scrollStep = 1;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        started.await();
+        System.setProperty("maze.renderer", renderer);
+        mazeRenderer = MazeRenderer.create();
+        maze = MazeGenerator.generate(size, size, "animals", 42);
+        pane = new Pane();
+        viewRows = Math.min(size, VIEW_ROWS);
+        viewCols = Math.min(size, VIEW_COLS);
+        render();
+    }
+
+    @Benchmark
+    public Pane render() {
+        mazeRenderer.render(pane, maze.getGrid(), maze.getStart(), maze.getEnd());
+        mazeRenderer.setVisibleRegion(0, 0, viewRows, viewCols);
+        scrollCol = 0;
+        return pane;
+    }
+
+    @Benchmark
+    public Pane scrollOneColumn() {
+        // A maze that fits the view has nowhere to scroll, the same region is shown again
+        if (viewCols < size) {
+            if (scrollCol + scrollStep < 0 || scrollCol + scrollStep + viewCols > size) scrollStep = -scrollStep;
+            scrollCol += scrollStep;
+        }
+        mazeRenderer.setVisibleRegion(0, scrollCol, viewRows, scrollCol + viewCols);
+        return pane;
+    }
+}
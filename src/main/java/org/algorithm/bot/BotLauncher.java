@@ -0,0 +1,85 @@
+package org.algorithm.bot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load generator: runs many headless bots against a server, one virtual thread each,
+ * and reports latency and throughput.
+ *
+ * <pre>
+ * java -cp ... org.algorithm.bot.BotLauncher [host] [port] [bots] [seconds]
+ * </pre>
+ * The transport follows -Dclient.transport like the GUI (nio puts every bot on one selector thread).
+ */
+public class BotLauncher {
+    private static final long REPORT_INTERVAL_MILLIS = 5000;
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int botCount = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+
+        System.out.printf("Starting %d bots against %s:%d for %d s%n", botCount, host, port, seconds);
+        List<BotPlayer> bots = new ArrayList<>(botCount);
+        for (int i = 0; i < botCount; i++) {
+            BotPlayer bot = BotPlayer.create(i, host, port, 31L * i + 7);
+            bots.add(bot);
+            Thread.ofVirtual().name("bot-" + i).start(bot.getClient());
+        }
+
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long previousMoves = 0;
+        while (System.nanoTime() < end && !allFinished(bots)) {
+            Thread.sleep(Math.min(REPORT_INTERVAL_MILLIS, Math.max(1, (end - System.nanoTime()) / 1_000_000)));
+            long moves = totalMoves(bots);
+            System.out.printf("[%5.1f s] %d moves (+%d), %d bots finished%n",
+                    (System.nanoTime() - start) / 1e9, moves, moves - previousMoves, finishedCount(bots));
+            previousMoves = moves;
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        for (BotPlayer bot : bots) {
+            bot.getClient().close();
+        }
+        report(bots, elapsedSeconds);
+    }
+
+    private static void report(List<BotPlayer> bots, double elapsedSeconds) {
+        System.out.println();
+        System.out.println("  bot    moves  moves/s   avg ms   p50 ms   p99 ms   max ms  score");
+        LatencyRecorder all = new LatencyRecorder();
+        for (BotPlayer bot : bots) {
+            LatencyRecorder latency = bot.getLatency();
+            latency.addTo(all);
+            System.out.printf("%5d %8d %8.2f %8.2f %8.2f %8.2f %8.2f %6d%n",
+                    bot.getId(), bot.getMovesSent(), bot.getMovesSent() / elapsedSeconds,
+                    latency.averageMillis(), latency.percentileMillis(50), latency.percentileMillis(99),
+                    latency.percentileMillis(100), bot.getScore());
+        }
+        long moves = totalMoves(bots);
+        System.out.printf("%nTotal: %d moves in %.1f s (%.1f moves/s), latency avg %.2f ms, p50 %.2f ms, p99 %.2f ms, max %.2f ms over %d samples%n",
+                moves, elapsedSeconds, moves / elapsedSeconds, all.averageMillis(), all.percentileMillis(50),
+                all.percentileMillis(99), all.percentileMillis(100), all.getCount());
+    }
+
+    private static long totalMoves(List<BotPlayer> bots) {
+        long total = 0;
+        for (BotPlayer bot : bots) total += bot.getMovesSent();
+        return total;
+    }
+
+    private static int finishedCount(List<BotPlayer> bots) {
+        int finished = 0;
+        for (BotPlayer bot : bots) {
+            if (bot.isGameOver()) finished++;
+        }
+        return finished;
+    }
+
+    private static boolean allFinished(List<BotPlayer> bots) {
+        return finishedCount(bots) == bots.size();
+    }
+}
@@ -0,0 +1,158 @@
+package org.algorithm.bot;
+
+import org.algorithm.client.ConnectionState;
+import org.algorithm.client.GameClient;
+import org.algorithm.client.GameListener;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+import org.algorithm.maze_builder.MoveRules;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless player: whenever it gets the turn it makes a legal move, preferring cells it has
+ * not visited yet. Measures the time from sending a move to the server's answer (the ack
+ * with sequenced moves, the next turn message otherwise).
+ * Callbacks arrive on the client's network thread and never block it.
+ */
+public class BotPlayer implements GameListener {
+    private final int id;
+    // Set by create() before the client is started, never changed after
+    private GameClient client;
+    private final Random random;
+    private final LatencyRecorder latency = new LatencyRecorder();
+    private final AtomicLong movesSent = new AtomicLong();
+    private final int[] candidates = new int[MoveRules.DELTA_ROW.length];
+
+    private volatile MazeGrid maze;
+    private volatile boolean gameOver;
+    private volatile int score;
+    private boolean[] visited;
+    private int row;
+    private int col;
+    private int nextSequence = 1;
+    private int pendingSequence;
+    private volatile long pendingSince;
+
+    private BotPlayer(int id, long seed) {
+        this.id = id;
+        this.random = new Random(seed);
+    }
+
+    /** Bot with its client, not yet started; run {@link #getClient()} to connect. */
+    public static BotPlayer create(int id, String host, int port, long seed) {
+        BotPlayer bot = new BotPlayer(id, seed);
+        bot.client = GameClient.create(host, port, bot);
+        return bot;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public GameClient getClient() {
+        return client;
+    }
+
+    public LatencyRecorder getLatency() {
+        return latency;
+    }
+
+    public long getMovesSent() {
+        return movesSent.get();
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    @Override
+    public void onMazeLoaded(Maze loaded) {
+        MazeGrid grid = loaded.getGrid();
+        row = loaded.getStart() != null ? loaded.getStart().getRow() : 0;
+        col = loaded.getStart() != null ? loaded.getStart().getColumn() : 0;
+        visited = new boolean[grid.getRows() * grid.getCols()];
+        visited[grid.index(row, col)] = true;
+        maze = grid;
+    }
+
+    @Override
+    public void onTurnChange(boolean playerTurn) {
+        if (pendingSince != 0 && !client.isSequencedMoves()) {
+            latency.record(System.nanoTime() - pendingSince);
+            pendingSince = 0;
+        }
+        if (playerTurn && !gameOver) {
+            move();
+        }
+    }
+
+    private void move() {
+        MazeGrid grid = maze;
+        if (grid == null) return;
+        int legal = 0;
+        int fresh = 0;
+        for (int moves = grid.moveMask(row, col); moves != 0; moves &= moves - 1) {
+            int d = Integer.numberOfTrailingZeros(moves);
+            // Unvisited cells are kept at the front of the candidate list
+            if (!visited[grid.index(row + MoveRules.DELTA_ROW[d], col + MoveRules.DELTA_COL[d])]) {
+                candidates[legal++] = candidates[fresh];
+                candidates[fresh++] = d;
+            } else {
+                candidates[legal++] = d;
+            }
+        }
+        if (legal == 0) return;
+        int direction = candidates[random.nextInt(fresh > 0 ? fresh : legal)];
+        row += MoveRules.DELTA_ROW[direction];
+        col += MoveRules.DELTA_COL[direction];
+        visited[grid.index(row, col)] = true;
+
+        int sequence = client.isSequencedMoves() ? nextSequence++ : 0;
+        pendingSequence = sequence;
+        pendingSince = System.nanoTime();
+        client.sendMove(sequence, grid.node(row, col));
+        movesSent.incrementAndGet();
+    }
+
+    @Override
+    public void onMoveAck(int sequence, int ackRow, int ackCol, int ackScore) {
+        if (sequence == pendingSequence && pendingSince != 0) {
+            latency.record(System.nanoTime() - pendingSince);
+            pendingSince = 0;
+        }
+        // The server's position wins
+        row = ackRow;
+        col = ackCol;
+        score = ackScore;
+    }
+
+    @Override
+    public void onOpponentMove(int opponentRow, int opponentCol) {
+    }
+
+    @Override
+    public void onScore(int newScore) {
+        score = newScore;
+    }
+
+    @Override
+    public void onOpponentScore(int opponentScore) {
+    }
+
+    @Override
+    public void onGameOver() {
+        gameOver = true;
+    }
+
+    @Override
+    public void onConnectionStateChanged(ConnectionState state) {
+        // A move outstanding across a reconnect would measure the outage, not the server
+        if (state == ConnectionState.BACKING_OFF) pendingSince = 0;
+    }
+}
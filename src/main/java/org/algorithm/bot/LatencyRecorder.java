@@ -0,0 +1,43 @@
+package org.algorithm.bot;
+
+import java.util.Arrays;
+
+/**
+ * Collects latency samples in nanoseconds and summarizes them. Thread safe, cheap enough
+ * for a few thousand samples per bot.
+ */
+public class LatencyRecorder {
+    private long[] samples = new long[256];
+    private int count;
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /** Returns the requested percentile (0-100) in milliseconds, or 0 without samples. */
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))] / 1_000_000.0;
+    }
+
+    public synchronized double averageMillis() {
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) total += samples[i];
+        return total / (double) count / 1_000_000.0;
+    }
+
+    public synchronized void addTo(LatencyRecorder target) {
+        for (int i = 0; i < count; i++) target.record(samples[i]);
+    }
+}
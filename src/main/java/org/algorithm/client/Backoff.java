@@ -0,0 +1,39 @@
+package org.algorithm.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reconnect delays doubling from -Dclient.reconnect.baseMs up to -Dclient.reconnect.maxMs, each
+ * one drawn between half and all of its ceiling. The jitter spreads clients that lost the same
+ * server apart, so a restarted server is not hit by all of them in the same instant.
+ * Used by the single thread that owns the reconnect, so it is not thread-safe.
+ */
+final class Backoff {
+    private final long baseMillis;
+    private final long maxMillis;
+    private int attempts;
+
+    Backoff(long baseMillis, long maxMillis) {
+        this.baseMillis = Math.max(1, baseMillis);
+        this.maxMillis = Math.max(this.baseMillis, maxMillis);
+    }
+
+    static Backoff fromProperties() {
+        return new Backoff(Long.getLong("client.reconnect.baseMs", 500), Long.getLong("client.reconnect.maxMs", 30_000));
+    }
+
+    long nextDelayMillis() {
+        long ceiling = Math.min(maxMillis, baseMillis << Math.min(attempts, 30));
+        attempts++;
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling - ceiling / 2 + 1);
+    }
+
+    /** Attempts since the last {@link #reset()}. */
+    int attempts() {
+        return attempts;
+    }
+
+    void reset() {
+        attempts = 0;
+    }
+}
@@ -0,0 +1,130 @@
+package org.algorithm.client;
+
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Compact binary maze frame ("bin1"), sent raw on the socket right after the
+ * "maze" request when both sides negotiated {@link MazeFormat#BINARY}.
+ *
+ * <pre>
+ * header  : 'M' 'Z' version(1) flags(1) rows(4) cols(4)
+ *           startRow(4) startCol(4) endRow(4) endCol(4)
+ * borders : 4 bits per cell, row-major, two cells per byte (low nibble first)
+ *           bit 0 top, bit 1 right, bit 2 bottom, bit 3 left
+ * values  : one UTF-16 char per cell, row-major, big-endian
+ * </pre>
+ */
+public final class BinaryMazeCodec {
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = 28;
+    private static final byte MAGIC_0 = 'M';
+    private static final byte MAGIC_1 = 'Z';
+    // Guards against allocating huge buffers when the stream is not a maze frame
+    private static final int MAX_CELLS = 16 * 1024 * 1024;
+
+    private BinaryMazeCodec() {
+    }
+
+    public static int bodyLength(int rows, int cols) {
+        int cells = rows * cols;
+        return (cells + 1) / 2 + cells * 2;
+    }
+
+    public static void read(ProtocolInputStream in, Maze target) throws IOException {
+        byte[] header = new byte[HEADER_BYTES];
+        in.readFully(header, 0, HEADER_BYTES);
+        byte[] body = new byte[bodyLength(header)];
+        in.readFully(body, 0, body.length);
+        decode(header, body, target);
+    }
+
+    /** Validates a frame header and returns how many body bytes follow it. */
+    public static int bodyLength(byte[] header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        if (buffer.get() != MAGIC_0 || buffer.get() != MAGIC_1) {
+            throw new IOException("Not a binary maze frame");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary maze version " + version);
+        }
+        buffer.get(); // flags, reserved
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > MAX_CELLS) {
+            throw new IOException("Invalid maze dimensions " + rows + "x" + cols);
+        }
+        return bodyLength(rows, cols);
+    }
+
+    public static void decode(byte[] header, byte[] body, Maze target) throws IOException {
+        bodyLength(header);
+        ByteBuffer buffer = ByteBuffer.wrap(header, 4, HEADER_BYTES - 4);
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        Node start = new Node(buffer.getInt(), buffer.getInt());
+        Node end = new Node(buffer.getInt(), buffer.getInt());
+
+        // Unpacked straight into the grid arrays, no per-cell objects
+        int cells = rows * cols;
+        int packedLength = (cells + 1) / 2;
+        byte[] borders = new byte[cells];
+        for (int i = 0; i < cells; i++) {
+            borders[i] = (byte) ((body[i >> 1] >> ((i & 1) << 2)) & 0x0F);
+        }
+        char[] values = new char[cells];
+        ByteBuffer.wrap(body, packedLength, cells * 2).asCharBuffer().get(values);
+
+        target.setNbRow(rows);
+        target.setNbCol(cols);
+        target.setStart(start);
+        target.setEnd(end);
+        target.setGrid(new MazeGrid(rows, cols, borders, values));
+    }
+
+    public static void write(OutputStream out, Maze maze) throws IOException {
+        int rows = maze.getNbRow();
+        int cols = maze.getNbCol();
+        int cells = rows * cols;
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + bodyLength(rows, cols));
+        frame.put(MAGIC_0).put(MAGIC_1).put(VERSION).put((byte) 0);
+        frame.putInt(rows).putInt(cols);
+        frame.putInt(maze.getStart().getRow()).putInt(maze.getStart().getColumn());
+        frame.putInt(maze.getEnd().getRow()).putInt(maze.getEnd().getColumn());
+
+        MazeGrid grid = maze.getGrid();
+        byte[] borders = grid.borderArray();
+        byte[] packed = new byte[(cells + 1) / 2];
+        for (int i = 0; i < cells; i++) {
+            packed[i >> 1] |= (byte) ((borders[i] & 0x0F) << ((i & 1) << 2));
+        }
+        frame.put(packed);
+        frame.asCharBuffer().put(grid.valueArray());
+        frame.position(frame.position() + cells * 2);
+        out.write(frame.array(), 0, frame.position());
+        out.flush();
+    }
+
+    /** Maze version: hex of the first 16 bytes of the SHA-256 of the bin1 frame. */
+    public static String contentHash(Maze maze) {
+        try {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            write(frame, maze);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(frame.toByteArray());
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, 16));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash maze", e);
+        }
+    }
+}
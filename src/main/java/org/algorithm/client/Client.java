@@ -1,110 +1,208 @@
 package org.algorithm.client;
 
-import javafx.application.Platform;
 import org.algorithm.components.Node;
 import org.algorithm.maze_builder.Maze;
-import org.algorithm.visualizer.MazeVisualizer;
+import org.algorithm.maze_builder.MazeGrid;
 
 import java.io.*;
+import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.Base64;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
-
-public class Client implements Runnable {
-    private Socket clientSocket;
-    private PrintWriter out;
-    private BufferedReader in;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Blocking transport: one socket read by a listener thread, with separate heartbeat and sender threads.
+ * Any of them can notice a dead connection; {@link ConnectionStateMachine} lets exactly one of
+ * them reconnect, with backoff, while the others carry on or exit.
+ */
+public class Client implements GameClient {
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 5_000;
+
+    private volatile Socket clientSocket;
+    private volatile PrintWriter out;
+    private volatile ProtocolInputStream in;
     private final String host;
     private final int port;
     private Maze maze;
-    private  AtomicBoolean running = new AtomicBoolean(true);
+    private final MazeFormat preferredMazeFormat;
+    private final MazeCompression preferredCompression;
+    private final MoveProtocol preferredMoveProtocol;
+    private volatile MoveProtocol moveProtocol = MoveProtocol.LEGACY;
     private Thread heartbeatThread;
+    private volatile Thread runnerThread;
+    private final boolean pipelinedHandshake;
+    private final boolean resumeSessions;
+    private final long extensionsTimeoutMillis;
+    // What the server listed in reply to the probe, kept across reconnects; null until asked
+    private volatile ServerExtensions extensions;
+    private final MazeDiskCache diskCache = MazeDiskCache.shared();
+    // Bumped by every successful reconnect, so failures seen on an older socket are ignored
+    private volatile int connectionGeneration;
+    private final ConnectionStateMachine state;
+    private final Backoff backoff = Backoff.fromProperties();
+    private final RttEstimator rtt;
 
-    private final BlockingQueue<Node> nodeQueue = new LinkedBlockingQueue<>();
+    private final BlockingDeque<Move> nodeQueue = new LinkedBlockingDeque<>();
+    private final GameEventDispatcher dispatcher;
+    private final ClientMetrics metrics = ClientMetrics.shared();
+    private final int[] nodeNumbers = new int[2];
 
-    public Client(String host, int port) {
+    public Client(String host, int port, GameListener listener) {
         this.host = host;
         this.port = port;
+        this.dispatcher = new GameEventDispatcher(listener);
+        this.state = new ConnectionStateMachine(listener);
+        this.rtt = dispatcher.rtt();
         this.maze = new Maze();
+        this.preferredMazeFormat = MazeFormat.fromWireName(System.getProperty("maze.format", MazeFormat.BINARY.getWireName()));
+        this.preferredMoveProtocol = MoveProtocol.fromWireName(System.getProperty("move.protocol", MoveProtocol.SEQUENCED.getWireName()));
+        this.preferredCompression = MazeCompression.fromWireName(System.getProperty("maze.compression", MazeCompression.DEFLATE.getWireName()));
+        this.pipelinedHandshake = !"sequential".equalsIgnoreCase(System.getProperty("maze.handshake", "pipelined"));
+        this.resumeSessions = Boolean.parseBoolean(System.getProperty("client.resume", "true"));
+        this.extensionsTimeoutMillis = Long.getLong("client.extensionsTimeoutMs", 2_000);
+    }
 
+    /** Client over already open streams, without a socket; used by the benchmarks. */
+    Client(InputStream input, OutputStream output, GameListener listener) {
+        this(null, 0, listener);
+        this.in = new ProtocolInputStream(input);
+        this.out = new PrintWriter(output, true);
     }
 
     private void startHeartbeat() {
-        heartbeatThread = new Thread(() -> {
-            while (running.get() && !Thread.currentThread().isInterrupted()) {
+        heartbeatThread = newThread(() -> {
+            while (state.isOpen() && !Thread.currentThread().isInterrupted()) {
+                // Generation before writer: a reconnect publishes the writer first
+                int generation = connectionGeneration;
+                PrintWriter writer = out;
+                ConnectionState current = state.get();
                 try {
-                    if (out != null) {
-                        out.println("heartbeat");
-                        out.flush();
+                    // Not during the handshake, where it would land between the requests
+                    if (writer != null && current == ConnectionState.CONNECTED) {
+                        writer.println("heartbeat");
+                        // PrintWriter swallows IOExceptions, a broken socket only shows here
+                        if (writer.checkError()) throw new IOException("write failed");
+                        dispatcher.onHeartbeatSent(System.nanoTime());
                     }
-                    Thread.sleep(5000);
+                    Thread.sleep(HEARTBEAT_INTERVAL_MILLIS);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
-                } catch (Exception e) {
+                } catch (IOException e) {
                     System.err.println("Heartbeat failed: " + e.getMessage());
-                    reconnect();
-                    break;
+                    reconnect(generation);
                 }
             }
         });
-        heartbeatThread.setDaemon(true);
         heartbeatThread.start();
     }
 
-    private void reconnect() {
-        while (running.get()) {
+    // Returns at once unless this call moved the connection out of CONNECTED; the winner keeps
+    // trying, backing off between attempts, until it is connected again or the client is closed.
+    private void reconnect(int failedGeneration) {
+        if (connectionGeneration != failedGeneration || !state.transition(ConnectionState.CONNECTED, ConnectionState.BACKING_OFF)) {
+            return;
+        }
+        if (connectionGeneration != failedGeneration) {
+            // Another thread completed a reconnect in between, this failure is stale
+            state.transition(ConnectionState.BACKING_OFF, ConnectionState.CONNECTED);
+            return;
+        }
+        while (state.isOpen()) {
             try {
-                System.out.println("Attempting to reconnect...");
                 stop();
-                Thread.sleep(5000);
+                long delay = backoff.nextDelayMillis();
+                System.out.println("Attempting to reconnect in " + delay + " ms (attempt " + backoff.attempts() + ")...");
+                Thread.sleep(delay);
+                if (!state.transition(ConnectionState.BACKING_OFF, ConnectionState.CONNECTING)) return;
                 setupConnection();
+                state.transition(ConnectionState.CONNECTING, ConnectionState.HANDSHAKING);
+                // A new socket is a new session on the server: resume ours, with the maze cached there is no transfer
+                initializeMazeData();
+                int generation = ++connectionGeneration;
+                if (!state.transition(ConnectionState.HANDSHAKING, ConnectionState.CONNECTED)) return;
+                backoff.reset();
+                startMessageListener(generation);
+                metrics.reconnected();
                 System.out.println("Reconnected successfully!");
                 return;
-            } catch (Exception e) {
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
                 System.err.println("Reconnection failed: " + e.getMessage());
+                state.moveTo(ConnectionState.BACKING_OFF);
             }
         }
     }
 
+    // Timeouts follow the heartbeat round trip measured so far, defaults until there is one
     private void setupConnection() throws IOException {
-        clientSocket = new Socket(host, port);
-        clientSocket.setKeepAlive(true);
-        clientSocket.setSoTimeout(30000);
-        out = new PrintWriter(clientSocket.getOutputStream(), true);
-        in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+        Socket socket = new Socket();
+        socket.setKeepAlive(true);
+        // Moves are a few bytes each: without this Nagle holds every one until the previous is acked
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port), rtt.connectTimeoutMillis());
+        socket.setSoTimeout(rtt.readTimeoutMillis(HEARTBEAT_INTERVAL_MILLIS));
+        clientSocket = socket;
+        out = new PrintWriter(socket.getOutputStream(), true);
+        in = new ProtocolInputStream(socket.getInputStream());
     }
 
-
-
-
+    @Override
     public void sendNodeToServer(Node node) {
+        sendMove(0, node);
+    }
+
+    @Override
+    public void sendMove(int sequence, Node node) {
         try {
-            nodeQueue.put(node);
+            nodeQueue.put(new Move(sequence, node.getRow(), node.getColumn()));
+            metrics.sendQueueChanged(1);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             System.err.println("Failed to queue node: " + e.getMessage());
         }
     }
 
+    @Override
+    public boolean isSequencedMoves() {
+        return moveProtocol == MoveProtocol.SEQUENCED;
+    }
+
     @Override
     public void run() {
+        runnerThread = Thread.currentThread();
         try {
+            if (!state.transition(ConnectionState.DISCONNECTED, ConnectionState.CONNECTING)) return;
             setupConnection();
             startHeartbeat();
+            state.transition(ConnectionState.CONNECTING, ConnectionState.HANDSHAKING);
             initializeMazeData();
-            startMessageListener();
-            while (running.get() && !Thread.currentThread().isInterrupted()) {
+            state.transition(ConnectionState.HANDSHAKING, ConnectionState.CONNECTED);
+            startMessageListener(connectionGeneration);
+            while (state.isOpen() && !Thread.currentThread().isInterrupted()) {
+                int generation = connectionGeneration;
+                Move move = null;
                 try {
-                    Node node = nodeQueue.take();
-                    sendMessage("node");
-                    sendNode(node);
-                    System.out.println("Sent node: " + node);
+                    move = nodeQueue.take();
+                    // Moves made while reconnecting wait for the new connection's handshake to finish
+                    if (!state.awaitConnected()) break;
+                    generation = connectionGeneration;
+                    if (move.sequence() > 0 && isSequencedMoves()) {
+                        sendMessage("move\n(" + move.sequence() + "," + move.row() + "," + move.column() + ")");
+                    } else {
+                        sendMessage("node\n(" + move.row() + "," + move.column() + ")");
+                    }
+                    metrics.sendQueueChanged(-1);
                 } catch (IOException e) {
+                    // Not sent: first in line again once reconnected
+                    nodeQueue.addFirst(move);
                     System.err.println("Communication error: " + e.getMessage());
-                    reconnect();
+                    reconnect(generation);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
@@ -117,100 +215,208 @@ public class Client implements Runnable {
         }
     }
 
-    private void startMessageListener() {
-        Thread listenerThread = new Thread(() -> {
+    // Each listener reads only the socket of its generation and exits when that socket fails
+    private void startMessageListener(int generation) {
+        Socket socket = clientSocket;
+        ProtocolInputStream input = in;
+        Thread listenerThread = newThread(() -> {
+            int appliedTimeout = -1;
             try {
-                while (running.get()) {
-                    String message = in.readLine();
-                    if (message == null) {
+                while (state.isOpen()) {
+                    int timeout = rtt.readTimeoutMillis(HEARTBEAT_INTERVAL_MILLIS);
+                    if (socket != null && timeout != appliedTimeout) {
+                        socket.setSoTimeout(timeout);
+                        appliedTimeout = timeout;
+                    }
+                    int length = input.readLineBytes();
+                    if (length < 0) {
                         System.out.println("Server disconnected - null message received");
-                        reconnect();
+                        reconnect(generation);
                         break;
                     }
-
-
-                    switch (message) {
-                        case "node":
-                            Node receivedNode = receiveNode();
-                            if (receivedNode != null) {
-                                System.out.println("Received node: " + receivedNode.getRow() + " " + receivedNode.getColumn());
-                                MazeVisualizer.updateOtherPlayerPosition(receivedNode.getRow(), receivedNode.getColumn());
-                            } else {
-                                System.err.println("Received node is null!");
-                            }
-                            break;
-                        case "turn":
-                            Platform.runLater(() -> {
-                                MazeVisualizer.handleTurnChange(true);
-                            });
-                            break;
-                        case "not":
-                            Platform.runLater(() -> {
-                                MazeVisualizer.handleTurnChange(false);
-                            });
-                            break;
-                        case "score":
-                            try {
-                                int score = Integer.parseInt(in.readLine());
-                                MazeVisualizer.updateScore(score);
-                            } catch (IOException | NumberFormatException e) {
-                                System.err.println("Error reading score: " + e.getMessage());
-                            }
-                            break;
-                        case "otherScore":
-                            try {
-                                int opponentScore = Integer.parseInt(in.readLine());
-                                MazeVisualizer.updateOpponentScore(opponentScore);
-                            } catch (IOException | NumberFormatException e) {
-                                System.err.println("Error reading opponent score: " + e.getMessage());
-                            }
-                            break;
-                        case "gameOver":
-                           MazeVisualizer.handleGameOver();
-                            break;
-                        default:
-                            System.out.println("Received unknown message: " + message);
-                    }
+                    dispatcher.onLine(input.lineBytes(), length);
                 }
             } catch (IOException e) {
-                if (running.get()) {
+                if (state.isOpen()) {
                     System.err.println("Message listener error: " + e.getMessage());
-                    e.printStackTrace();
-                    reconnect();
+                    reconnect(generation);
                 }
             }
         });
-        listenerThread.setDaemon(true);
         listenerThread.start();
     }
+
+    // Helper threads follow the caller, so clients run on virtual threads (bots) stay virtual
+    private static Thread newThread(Runnable task) {
+        if (Thread.currentThread().isVirtual()) {
+            return Thread.ofVirtual().unstarted(task);
+        }
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        return thread;
+    }
     private void initializeMazeData() throws IOException {
-        sendMessage("row");
-        String rowResponse = in.readLine();
-        maze.setNbRow(Integer.parseInt(rowResponse));
-        sendMessage("column");
-        String colResponse = in.readLine();
-        maze.setNbCol(Integer.parseInt(colResponse));
-        sendMessage("start");
-        maze.setStart(receiveNode());
-        sendMessage("end");
-        maze.setEnd(receiveNode());
-        sendMessage("theme");
-        maze.setTheme(in.readLine());
-        sendMessage("maze");
-        Node[][] mazeRec = receiveMaze();
-        if (mazeRec != null) {
-            maze.setMaze(mazeRec);
-            MazeVisualizer.MAZE_HEIGHT = maze.getNbRow();
-            MazeVisualizer.MAZE_WIDTH = maze.getNbCol();
-            MazeVisualizer.maze = mazeRec;
-            MazeVisualizer.startNode = maze.getStart();
-            MazeVisualizer.endNode = maze.getEnd();
-            MazeVisualizer.themeProperty.set(maze.getTheme());
+        long startTime = System.nanoTime();
+        if (extensions == null && !probeExtensions()) {
+            // Whatever the server made of the probe, the original handshake starts on a fresh connection
+            stop();
+            setupConnection();
+        }
+        handshake();
+        metrics.handshakeCompleted(System.nanoTime() - startTime);
+    }
+
+    // Asked on the first connection only; false when the server predates the probe
+    private boolean probeExtensions() throws IOException {
+        sendMessage(ServerExtensions.REQUEST);
+        String reply;
+        Socket socket = clientSocket;
+        int timeout = socket == null ? 0 : socket.getSoTimeout();
+        try {
+            if (socket != null) socket.setSoTimeout((int) extensionsTimeoutMillis);
+            reply = in.readLine();
+        } catch (SocketTimeoutException e) {
+            reply = null;
+        } finally {
+            if (socket != null && !socket.isClosed()) socket.setSoTimeout(timeout);
+        }
+        extensions = ServerExtensions.parse(reply);
+        if (extensions != null) {
+            System.out.println("Server extensions: " + extensions);
+            return true;
+        }
+        extensions = ServerExtensions.NONE;
+        System.out.println("Server does not list its extensions, using the original handshake");
+        return false;
+    }
+
+    /**
+     * Requests the board, then the extensions the server listed and we want, and reads the replies
+     * in order. Pipelined, every request goes out in one write and the handshake is one round trip;
+     * sequential, each one waits for the previous reply. "mazeIfChanged" carries the hashes of the
+     * mazes we hold (memory first, then the disk cache): the server answers "cached" plus the hash
+     * when we have its maze, and we confirm with "mazeReady" (no reply), or the new hash followed by
+     * the maze. "resume" presents our session, so after a reconnect the server replays the events
+     * we missed. A server without extensions is asked the original requests and plain "maze".
+     */
+    private void handshake() throws IOException {
+        long startTime = System.nanoTime();
+        List<String> requests = new ArrayList<>(List.of("row", "column", "start", "end", "theme"));
+        if (preferredMoveProtocol != MoveProtocol.LEGACY && extensions.supports(ServerExtensions.MOVE_PROTOCOL)) {
+            requests.add(ServerExtensions.MOVE_PROTOCOL + "\n" + preferredMoveProtocol.getWireName());
+        } else {
+            moveProtocol = MoveProtocol.LEGACY;
+        }
+        if (preferredMazeFormat != MazeFormat.SERIALIZED && extensions.supports(ServerExtensions.MAZE_FORMAT)) {
+            requests.add(ServerExtensions.MAZE_FORMAT + "\n" + preferredMazeFormat.getWireName());
+        }
+        if (preferredCompression != MazeCompression.NONE && extensions.supports(ServerExtensions.COMPRESSION)) {
+            requests.add(ServerExtensions.COMPRESSION + "\n" + preferredCompression.getWireName());
+        }
+        if (resumeSessions && extensions.supports(ServerExtensions.RESUME)) {
+            requests.add(ServerExtensions.RESUME + "\n" + dispatcher.resumeRequest());
+        }
+        if (extensions.supports(ServerExtensions.MAZE_IF_CHANGED)) {
+            requests.add(ServerExtensions.MAZE_IF_CHANGED + "\n" + MazeDiskCache.knownHashes(maze, diskCache));
+        } else {
+            requests.add("maze");
+        }
+        if (pipelinedHandshake) {
+            out.print(String.join("\n", requests) + "\n");
+            out.flush();
+        }
+
+        MazeFormat format = MazeFormat.SERIALIZED;
+        MazeCompression compression = MazeCompression.NONE;
+        for (String request : requests) {
+            if (!pipelinedHandshake) {
+                sendMessage(request);
+            }
+            int newline = request.indexOf('\n');
+            switch (newline < 0 ? request : request.substring(0, newline)) {
+                case "row" -> maze.setNbRow(Integer.parseInt(in.readLine()));
+                case "column" -> maze.setNbCol(Integer.parseInt(in.readLine()));
+                case "start" -> maze.setStart(receiveNode());
+                case "end" -> maze.setEnd(receiveNode());
+                case "theme" -> maze.setTheme(in.readLine());
+                case ServerExtensions.MOVE_PROTOCOL -> {
+                    moveProtocol = MoveProtocol.fromWireName(in.readLine());
+                    System.out.println("Move protocol: " + moveProtocol.getWireName());
+                }
+                case ServerExtensions.MAZE_FORMAT -> {
+                    format = MazeFormat.fromWireName(in.readLine());
+                    System.out.println("Maze format: " + format.getWireName());
+                }
+                case ServerExtensions.COMPRESSION -> {
+                    compression = MazeCompression.fromWireName(in.readLine());
+                    System.out.println("Maze compression: " + compression.getWireName());
+                }
+                case ServerExtensions.RESUME -> dispatcher.onResumeReply(in.readLine());
+                case ServerExtensions.MAZE_IF_CHANGED -> onMazeVersion(in.readLine(), format, compression, startTime);
+                default -> loadMaze(format, compression, null);
+            }
+        }
+    }
+
+    private void onMazeVersion(String version, MazeFormat format, MazeCompression compression, long startTime) throws IOException {
+        if (version != null && version.startsWith("cached ")) {
+            String hash = version.substring("cached ".length());
+            if (maze.getGrid() != null && hash.equals(maze.getHash())) {
+                sendMessage("mazeReady");
+                System.out.println("Maze " + hash + " unchanged, handshake took "
+                        + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+                return;
+            }
+            if (diskCache != null && diskCache.load(hash, maze)) {
+                maze.setHash(hash);
+                sendMessage("mazeReady");
+                System.out.println("Loaded maze " + hash + " from disk cache, handshake took "
+                        + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+                dispatcher.onMazeLoaded(maze);
+                return;
+            }
+            // Gone or corrupt since we advertised it
+            sendMessage("maze");
+            version = hash;
+        }
+        loadMaze(format, compression, version);
+    }
+
+    private void loadMaze(MazeFormat format, MazeCompression compression, String hash) {
+        long startTime = System.nanoTime();
+        maze.setHash(null);
+        ProtocolInputStream source = in;
+        if (compression == MazeCompression.DEFLATE) {
+            try {
+                source = new ProtocolInputStream(new ByteArrayInputStream(DeflateFrameCodec.read(in)));
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+        MazeGrid grid = decodeMaze(format, source);
+        if (grid != null) {
+            maze.setHash(hash);
+            if (hash != null && diskCache != null) {
+                diskCache.store(hash, maze);
+            }
+            System.out.println("Decoded " + maze.getNbRow() + "x" + maze.getNbCol() + " " + format.getWireName()
+                    + " maze in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+            dispatcher.onMazeLoaded(maze);
+        }
+    }
+
+    @Override
+    public void close() {
+        cleanup();
+        Thread runner = runnerThread;
+        if (runner != null && runner != Thread.currentThread()) {
+            runner.interrupt();
         }
     }
 
     private void cleanup() {
-        running.set(false);
+        state.moveTo(ConnectionState.CLOSED);
         if (heartbeatThread != null) {
             heartbeatThread.interrupt();
         }
@@ -222,7 +428,9 @@ public class Client implements Runnable {
     }
 
     private void sendMessage(String msg) throws IOException {
-        out.println(msg);
+        PrintWriter writer = out;
+        writer.println(msg);
+        if (writer.checkError()) throw new IOException("Write failed");
     }
 
     private void stop() throws IOException {
@@ -231,30 +439,43 @@ public class Client implements Runnable {
         if (clientSocket != null) clientSocket.close();
     }
 
+    public MazeGrid receiveBinaryMaze() {
+        return decodeMaze(MazeFormat.BINARY, in);
+    }
+
+    private MazeGrid decodeMaze(MazeFormat format, ProtocolInputStream source) {
+        try {
+            if (format == MazeFormat.BINARY) {
+                BinaryMazeCodec.read(source, maze);
+            } else {
+                String base64Data = source.readLine();
+                if (base64Data == null) return null;
+                maze.setMaze(GameEventDispatcher.decodeSerializedMaze(base64Data));
+            }
+            return maze.getGrid();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
     public Node[][] receiveMaze() {
         try {
             String base64Data = in.readLine();
             if (base64Data == null) return null;
-            byte[] mazeData = Base64.getDecoder().decode(base64Data);
-            try (ByteArrayInputStream bis = new ByteArrayInputStream(mazeData);
-                 ObjectInputStream ois = new ObjectInputStream(bis)) {
-                return (Node[][]) ois.readObject();
-            }
-        } catch (IOException | ClassNotFoundException e) {
+            return GameEventDispatcher.decodeSerializedMaze(base64Data);
+        } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    /** Reads a "(row,col)" line; once the maze is loaded the result is its existing cell. */
     public Node receiveNode() {
         try {
-            String nodeResponse = in.readLine();
-            if (nodeResponse != null) {
-                String[] parts = nodeResponse.substring(1, nodeResponse.length() - 1).split(",");
-                int row = Integer.parseInt(parts[0]);
-                int column = Integer.parseInt(parts[1]);
-                return new Node(row, column);
-            }
+            int length = in.readLineBytes();
+            if (length < 0) return null;
+            return GameEventDispatcher.resolveNode(in.lineBytes(), length, maze.getGrid(), nodeNumbers);
         } catch (IOException e) {
             System.out.println("problem in receive node ");
         }
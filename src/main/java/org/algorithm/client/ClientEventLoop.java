@@ -0,0 +1,132 @@
+package org.algorithm.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One thread multiplexing any number of NIO connections: socket readiness through a
+ * Selector, heartbeats and timeouts through per-handler deadlines that bound the select.
+ */
+public final class ClientEventLoop implements Runnable {
+    private static final Object LOCK = new Object();
+    private static volatile ClientEventLoop shared;
+
+    /** Connection driven by the loop; every method is called on the loop thread. */
+    interface Handler {
+
+        void onReady(SelectionKey key) throws IOException;
+
+        /** Runs due timers and returns the next deadline in System.nanoTime() units, or Long.MAX_VALUE. */
+        long onTimer(long now);
+
+        void onFailure(IOException e);
+    }
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final List<Handler> handlers = new ArrayList<>();
+
+    public ClientEventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public static ClientEventLoop shared() {
+        ClientEventLoop result = shared;
+        if (result == null) {
+            synchronized (LOCK) {
+                result = shared;
+                if (result == null) {
+                    try {
+                        result = new ClientEventLoop("client-event-loop");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot open selector", e);
+                    }
+                    shared = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    Selector selector() {
+        return selector;
+    }
+
+    boolean inLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /** Runs the task on the loop thread, from any thread. */
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (!inLoop()) {
+            selector.wakeup();
+        }
+    }
+
+    void add(Handler handler) {
+        execute(() -> handlers.add(handler));
+    }
+
+    void remove(Handler handler) {
+        execute(() -> handlers.remove(handler));
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long now = System.nanoTime();
+                long nextDeadline = Long.MAX_VALUE;
+                for (int i = 0; i < handlers.size(); i++) {
+                    nextDeadline = Math.min(nextDeadline, handlers.get(i).onTimer(now));
+                }
+                if (tasks.isEmpty()) {
+                    if (nextDeadline == Long.MAX_VALUE) {
+                        selector.select();
+                    } else {
+                        long waitMillis = Math.max(1, (nextDeadline - now + 999_999) / 1_000_000);
+                        selector.select(waitMillis);
+                    }
+                } else {
+                    selector.selectNow();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Handler handler = (Handler) key.attachment();
+                    try {
+                        if (key.isValid()) {
+                            handler.onReady(key);
+                        }
+                    } catch (IOException e) {
+                        handler.onFailure(e);
+                    }
+                }
+
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+            } catch (IOException e) {
+                System.err.println("Event loop error: " + e.getMessage());
+            } catch (RuntimeException e) {
+                // One broken connection must not take the others down
+                e.printStackTrace();
+            }
+        }
+    }
+}
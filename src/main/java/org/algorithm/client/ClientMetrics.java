@@ -0,0 +1,222 @@
+package org.algorithm.client;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide client telemetry: heartbeat round trips, inbound message counts, send backlog,
+ * reconnects, handshake time and JavaFX pulse timings. Every client of the JVM (one for the GUI,
+ * hundreds for the bots) feeds the same instance, published over JMX on first use and read by
+ * the in-game debug overlay. Recording is lock-free and allocation free.
+ */
+public final class ClientMetrics implements ClientMetricsMXBean {
+    private static final Object LOCK = new Object();
+    private static volatile ClientMetrics shared;
+
+    /** Inbound message types, as matched by the dispatcher. */
+    enum Inbound {
+        NODE("node"),
+        SCORE("score"),
+        OTHER_SCORE("otherScore"),
+        ACK("ack"),
+        TURN("turn"),
+        NOT_TURN("not"),
+        GAME_OVER("gameOver"),
+        HEARTBEAT_ACK("heartbeatAck"),
+        // Replayed event already handled before the reconnect
+        DUPLICATE("duplicate"),
+        UNKNOWN("unknown");
+
+        private final String wireName;
+
+        Inbound(String wireName) {
+            this.wireName = wireName;
+        }
+
+        String getWireName() {
+            return wireName;
+        }
+    }
+
+    private final LatencyHistogram heartbeatRtt = new LatencyHistogram();
+    private final LatencyHistogram handshake = new LatencyHistogram();
+    private final LatencyHistogram pulseInterval = new LatencyHistogram();
+    private final LatencyHistogram layout = new LatencyHistogram();
+    private final LongAdder[] messages = new LongAdder[Inbound.values().length];
+    private final AtomicInteger sendQueueDepth = new AtomicInteger();
+    private final AtomicLong writeBacklog = new AtomicLong();
+    private final LongAdder reconnects = new LongAdder();
+
+    ClientMetrics() {
+        for (int i = 0; i < messages.length; i++) messages[i] = new LongAdder();
+    }
+
+    public static ClientMetrics shared() {
+        ClientMetrics result = shared;
+        if (result == null) {
+            synchronized (LOCK) {
+                result = shared;
+                if (result == null) {
+                    result = new ClientMetrics();
+                    register(result);
+                    shared = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void register(ClientMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(metrics, new ObjectName("org.algorithm.client:type=ClientMetrics"));
+        } catch (JMException e) {
+            System.err.println("Client metrics not published over JMX: " + e.getMessage());
+        }
+    }
+
+    void messageReceived(Inbound type) {
+        messages[type.ordinal()].increment();
+    }
+
+    void heartbeatRtt(long nanos) {
+        heartbeatRtt.record(nanos);
+    }
+
+    void sendQueueChanged(int delta) {
+        sendQueueDepth.addAndGet(delta);
+    }
+
+    void writeBacklogChanged(long delta) {
+        writeBacklog.addAndGet(delta);
+    }
+
+    void reconnected() {
+        reconnects.increment();
+    }
+
+    void handshakeCompleted(long nanos) {
+        handshake.record(nanos);
+    }
+
+    /** Time since the previous pulse, recorded by the visualizer on the FX thread. */
+    public void pulseInterval(long nanos) {
+        pulseInterval.record(nanos);
+    }
+
+    public void layoutPass(long nanos) {
+        layout.record(nanos);
+    }
+
+    /** Multi-line summary for the debug overlay. */
+    public String summary() {
+        return String.format("""
+                        RTT     last %.1f  p50 %.1f  p99 %.1f  max %.1f ms (%d)
+                        Pulse   p50 %.1f  p99 %.1f  max %.1f ms, layout p99 %.1f ms
+                        Queue   %d moves, %d bytes
+                        Shake   last %.0f  max %.0f ms (%d), reconnects %d
+                        In      %s""",
+                getHeartbeatRttLastMillis(), getHeartbeatRttP50Millis(), getHeartbeatRttP99Millis(),
+                getHeartbeatRttMaxMillis(), getHeartbeatRttSamples(),
+                getPulseIntervalP50Millis(), getPulseIntervalP99Millis(), getPulseIntervalMaxMillis(), getLayoutP99Millis(),
+                getSendQueueDepth(), getWriteBacklogBytes(),
+                getHandshakeLastMillis(), getHandshakeMaxMillis(), getHandshakes(), getReconnects(),
+                getMessageCounts());
+    }
+
+    @Override
+    public long getHeartbeatRttSamples() {
+        return heartbeatRtt.getCount();
+    }
+
+    @Override
+    public double getHeartbeatRttLastMillis() {
+        return heartbeatRtt.lastMillis();
+    }
+
+    @Override
+    public double getHeartbeatRttP50Millis() {
+        return heartbeatRtt.percentileMillis(50);
+    }
+
+    @Override
+    public double getHeartbeatRttP99Millis() {
+        return heartbeatRtt.percentileMillis(99);
+    }
+
+    @Override
+    public double getHeartbeatRttMaxMillis() {
+        return heartbeatRtt.maxMillis();
+    }
+
+    @Override
+    public Map<String, Long> getMessageCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Inbound type : Inbound.values()) {
+            long count = messages[type.ordinal()].sum();
+            if (count > 0) counts.put(type.getWireName(), count);
+        }
+        return counts;
+    }
+
+    @Override
+    public int getSendQueueDepth() {
+        return sendQueueDepth.get();
+    }
+
+    @Override
+    public long getWriteBacklogBytes() {
+        return writeBacklog.get();
+    }
+
+    @Override
+    public long getReconnects() {
+        return reconnects.sum();
+    }
+
+    @Override
+    public long getHandshakes() {
+        return handshake.getCount();
+    }
+
+    @Override
+    public double getHandshakeLastMillis() {
+        return handshake.lastMillis();
+    }
+
+    @Override
+    public double getHandshakeMaxMillis() {
+        return handshake.maxMillis();
+    }
+
+    @Override
+    public double getPulseIntervalP50Millis() {
+        return pulseInterval.percentileMillis(50);
+    }
+
+    @Override
+    public double getPulseIntervalP99Millis() {
+        return pulseInterval.percentileMillis(99);
+    }
+
+    @Override
+    public double getPulseIntervalMaxMillis() {
+        return pulseInterval.maxMillis();
+    }
+
+    @Override
+    public double getLayoutP99Millis() {
+        return layout.percentileMillis(99);
+    }
+
+    @Override
+    public double getLayoutMaxMillis() {
+        return layout.maxMillis();
+    }
+}
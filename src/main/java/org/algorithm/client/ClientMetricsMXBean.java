@@ -0,0 +1,49 @@
+package org.algorithm.client;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link ClientMetrics}, registered as {@code org.algorithm.client:type=ClientMetrics}.
+ * Times are in milliseconds.
+ */
+public interface ClientMetricsMXBean {
+
+    long getHeartbeatRttSamples();
+
+    double getHeartbeatRttLastMillis();
+
+    double getHeartbeatRttP50Millis();
+
+    double getHeartbeatRttP99Millis();
+
+    double getHeartbeatRttMaxMillis();
+
+    /** Inbound messages by type since start. */
+    Map<String, Long> getMessageCounts();
+
+    /** Moves waiting in the blocking client's send queue. */
+    int getSendQueueDepth();
+
+    /** Bytes waiting in the NIO clients' write buffers. */
+    long getWriteBacklogBytes();
+
+    long getReconnects();
+
+    long getHandshakes();
+
+    double getHandshakeLastMillis();
+
+    double getHandshakeMaxMillis();
+
+    /** Time between two JavaFX pulses; 16.7 ms at 60 fps, more when the FX thread stalls. */
+    double getPulseIntervalP50Millis();
+
+    double getPulseIntervalP99Millis();
+
+    double getPulseIntervalMaxMillis();
+
+    /** CSS and layout time of a pulse. */
+    double getLayoutP99Millis();
+
+    double getLayoutMaxMillis();
+}
@@ -0,0 +1,19 @@
+package org.algorithm.client;
+
+/**
+ * Lifecycle of a {@link GameClient} connection, reported through
+ * {@link GameListener#onConnectionStateChanged(ConnectionState)}. A lost connection goes
+ * CONNECTED, BACKING_OFF, CONNECTING, HANDSHAKING and back to CONNECTED, with BACKING_OFF
+ * again after every failed attempt; CLOSED is final.
+ */
+public enum ConnectionState {
+    /** Created, not started yet. */
+    DISCONNECTED,
+    CONNECTING,
+    /** Socket open, handshake replies still expected. */
+    HANDSHAKING,
+    CONNECTED,
+    /** Connection lost, waiting before the next attempt. */
+    BACKING_OFF,
+    CLOSED
+}
@@ -0,0 +1,69 @@
+package org.algorithm.client;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Current {@link ConnectionState} of one client. Transitions are compare-and-set, so when several
+ * threads notice the same broken socket only the one that moves CONNECTED to BACKING_OFF gets to
+ * reconnect. Every successful transition is passed to the listener on the calling thread.
+ */
+final class ConnectionStateMachine {
+    private final AtomicReference<ConnectionState> state = new AtomicReference<>(ConnectionState.DISCONNECTED);
+    private final GameListener listener;
+    // A lock rather than wait/notify, so virtual threads waiting for a reconnect do not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition settled = lock.newCondition();
+
+    ConnectionStateMachine(GameListener listener) {
+        this.listener = listener;
+    }
+
+    ConnectionState get() {
+        return state.get();
+    }
+
+    boolean isOpen() {
+        return state.get() != ConnectionState.CLOSED;
+    }
+
+    /** Moves from {@code expected} to {@code next}; false if the state was anything else. */
+    boolean transition(ConnectionState expected, ConnectionState next) {
+        if (!state.compareAndSet(expected, next)) return false;
+        if (expected != next) listener.onConnectionStateChanged(next);
+        if (next == ConnectionState.CONNECTED || next == ConnectionState.CLOSED) {
+            lock.lock();
+            try {
+                settled.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    /** Blocks until the client is CONNECTED (true) or CLOSED (false). */
+    boolean awaitConnected() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                ConnectionState current = state.get();
+                if (current == ConnectionState.CONNECTED) return true;
+                if (current == ConnectionState.CLOSED) return false;
+                settled.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Moves to {@code next} from any state but CLOSED; false once closed. */
+    boolean moveTo(ConnectionState next) {
+        while (true) {
+            ConnectionState current = state.get();
+            if (current == ConnectionState.CLOSED) return false;
+            if (transition(current, next)) return true;
+        }
+    }
+}
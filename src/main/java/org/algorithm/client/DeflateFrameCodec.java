@@ -0,0 +1,115 @@
+package org.algorithm.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate wrapper around the maze reply when {@link MazeCompression#DEFLATE} was negotiated.
+ * The wrapped payload is exactly what would have been sent uncompressed: the bin1 frame, or the
+ * Base64 line with its '\n'.
+ *
+ * <pre>
+ * header : 'Z' 'D' version(1) level(1) rawLength(4) compressedLength(4)
+ * body   : raw deflate stream (no zlib header), compressedLength bytes
+ * </pre>
+ */
+public final class DeflateFrameCodec {
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = 12;
+    private static final byte MAGIC_0 = 'Z';
+    private static final byte MAGIC_1 = 'D';
+    private static final int MAX_RAW_BYTES = 256 * 1024 * 1024;
+
+    private DeflateFrameCodec() {
+    }
+
+    public static byte[] compress(byte[] raw, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] out = new byte[HEADER_BYTES + raw.length / 2 + 64];
+            int length = HEADER_BYTES;
+            while (!deflater.finished()) {
+                if (length == out.length) out = Arrays.copyOf(out, out.length * 2);
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            ByteBuffer.wrap(out, 0, HEADER_BYTES).put(MAGIC_0).put(MAGIC_1).put(VERSION).put((byte) level)
+                    .putInt(raw.length).putInt(length - HEADER_BYTES);
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** Compressed body size announced by the header, after checking it. */
+    public static int bodyLength(byte[] header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        if (buffer.get() != MAGIC_0 || buffer.get() != MAGIC_1) {
+            throw new IOException("Not a deflate frame");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported deflate frame version " + version);
+        }
+        buffer.get();
+        int rawLength = buffer.getInt();
+        int compressedLength = buffer.getInt();
+        // Deflate never grows data by more than a few bytes per 64 KB block, allow an eighth
+        if (rawLength < 0 || rawLength > MAX_RAW_BYTES || compressedLength < 0
+                || compressedLength > rawLength + (rawLength >> 3) + 64) {
+            throw new IOException("Bad deflate frame lengths " + rawLength + "/" + compressedLength);
+        }
+        return compressedLength;
+    }
+
+    public static byte[] inflate(byte[] header, byte[] body) throws IOException {
+        bodyLength(header);
+        int rawLength = ByteBuffer.wrap(header, 4, 4).getInt();
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(body);
+            int length = 0;
+            while (length < rawLength) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) break;
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new IOException("Deflate frame inflated to " + length + " bytes, expected " + rawLength);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt deflate frame", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    public static byte[] read(ProtocolInputStream in) throws IOException {
+        byte[] header = new byte[HEADER_BYTES];
+        in.readFully(header, 0, HEADER_BYTES);
+        byte[] body = new byte[bodyLength(header)];
+        in.readFully(body, 0, body.length);
+        long startTime = System.nanoTime();
+        byte[] raw = inflate(header, body);
+        logTransfer(header, System.nanoTime() - startTime);
+        return raw;
+    }
+
+    /** One log line per transfer, for picking a level per deployment. */
+    static void logTransfer(byte[] header, long inflateNanos) {
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        int level = buffer.get(3);
+        int rawLength = buffer.getInt(4);
+        int compressedLength = buffer.getInt(8);
+        System.out.printf("Maze payload: %d bytes deflated to %d (%.1f%%, level %d), inflated in %.2f ms%n",
+                rawLength, compressedLength, rawLength == 0 ? 100.0 : compressedLength * 100.0 / rawLength,
+                level, inflateNanos / 1_000_000.0);
+    }
+}
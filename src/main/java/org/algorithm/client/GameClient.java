@@ -0,0 +1,37 @@
+package org.algorithm.client;
+
+import org.algorithm.components.Node;
+
+/**
+ * Connection to the game server. {@link #run()} connects, loads the maze and starts
+ * listening; the blocking transport keeps the calling thread, the NIO one returns
+ * once the connection is registered with its event loop.
+ */
+public interface GameClient extends Runnable {
+
+    void sendNodeToServer(Node node);
+
+    /**
+     * Sends a move the caller already applied locally. With {@link MoveProtocol#SEQUENCED}
+     * the server acknowledges it by sequence number, otherwise it goes out as a plain "node".
+     */
+    void sendMove(int sequence, Node node);
+
+    /** True once the handshake agreed on sequenced, acknowledged moves. */
+    boolean isSequencedMoves();
+
+    void close();
+
+    /** Picks the transport from -Dclient.transport (blocking or nio). */
+    static GameClient create(String host, int port, GameListener listener) {
+        String transport = System.getProperty("client.transport", "blocking");
+        return switch (transport.toLowerCase()) {
+            case "nio" -> new NioClient(host, port, listener, ClientEventLoop.shared());
+            case "blocking" -> new Client(host, port, listener);
+            default -> {
+                System.err.println("Unknown transport '" + transport + "', using blocking client");
+                yield new Client(host, port, listener);
+            }
+        };
+    }
+}
@@ -0,0 +1,312 @@
+package org.algorithm.client;
+
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Turns server messages into {@link GameListener} calls. Fed one line at a time, so the blocking
+ * listener and the NIO event loop share it; messages with a payload line ("node", "score",
+ * "otherScore", "ack") remember their type until the payload arrives.
+ * Lines are matched and parsed straight from the transport's reusable byte buffer, so steady
+ * state gameplay does not allocate; only malformed input builds Strings, for the log.
+ * "heartbeatAck" is answered here: the round trip since the last heartbeat goes to {@link ClientMetrics}
+ * and to the connection's {@link RttEstimator}.
+ * In a resumable session the server numbers its events ("turn 12", "node 13"); the dispatcher
+ * remembers the last number across reconnects and drops events it has already handled.
+ */
+class GameEventDispatcher {
+    private static final byte[] NODE = ascii("node");
+    private static final byte[] SCORE = ascii("score");
+    private static final byte[] OTHER_SCORE = ascii("otherScore");
+    private static final byte[] ACK = ascii("ack");
+    private static final byte[] TURN = ascii("turn");
+    private static final byte[] NOT = ascii("not");
+    private static final byte[] GAME_OVER = ascii("gameOver");
+    private static final byte[] HEARTBEAT_ACK = ascii("heartbeatAck");
+
+    private static final int NONE = 0;
+    private static final int PENDING_NODE = 1;
+    private static final int PENDING_SCORE = 2;
+    private static final int PENDING_OTHER_SCORE = 3;
+    private static final int PENDING_ACK = 4;
+    private static final int PENDING_DUPLICATE = 5;
+
+    private final GameListener listener;
+    private final ClientMetrics metrics = ClientMetrics.shared();
+    private final RttEstimator rtt = new RttEstimator();
+    // Send time of the heartbeat waiting for its echo, 0 when none is
+    private volatile long heartbeatSentAt;
+    private final int[] numbers = new int[4];
+    private int pendingMessage = NONE;
+    // Kept across connections: they are what a reconnect presents to resume the session
+    private volatile String sessionToken;
+    private volatile long lastEventSequence;
+
+    GameEventDispatcher(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /** Handles the first {@code length} bytes of {@code line}; the array may be reused afterwards. */
+    void onLine(byte[] line, int length) {
+        if (pendingMessage != NONE) {
+            int message = pendingMessage;
+            pendingMessage = NONE;
+            onPayload(message, line, length);
+            return;
+        }
+        int space = indexOf(line, length, (byte) ' ');
+        if (space > 0) {
+            long sequence = parseSequence(line, space + 1, length);
+            if (sequence > 0) {
+                if (sequence <= lastEventSequence) {
+                    onDuplicate(line, space);
+                    return;
+                }
+                lastEventSequence = sequence;
+                length = space;
+            }
+        }
+        if (matches(line, length, NODE)) {
+            metrics.messageReceived(ClientMetrics.Inbound.NODE);
+            pendingMessage = PENDING_NODE;
+        } else if (matches(line, length, SCORE)) {
+            metrics.messageReceived(ClientMetrics.Inbound.SCORE);
+            pendingMessage = PENDING_SCORE;
+        } else if (matches(line, length, OTHER_SCORE)) {
+            metrics.messageReceived(ClientMetrics.Inbound.OTHER_SCORE);
+            pendingMessage = PENDING_OTHER_SCORE;
+        } else if (matches(line, length, ACK)) {
+            metrics.messageReceived(ClientMetrics.Inbound.ACK);
+            pendingMessage = PENDING_ACK;
+        } else if (matches(line, length, TURN)) {
+            metrics.messageReceived(ClientMetrics.Inbound.TURN);
+            listener.onTurnChange(true);
+        } else if (matches(line, length, NOT)) {
+            metrics.messageReceived(ClientMetrics.Inbound.NOT_TURN);
+            listener.onTurnChange(false);
+        } else if (matches(line, length, GAME_OVER)) {
+            metrics.messageReceived(ClientMetrics.Inbound.GAME_OVER);
+            listener.onGameOver();
+        } else if (matches(line, length, HEARTBEAT_ACK)) {
+            metrics.messageReceived(ClientMetrics.Inbound.HEARTBEAT_ACK);
+            onHeartbeatAck();
+        } else {
+            metrics.messageReceived(ClientMetrics.Inbound.UNKNOWN);
+            System.out.println("Received unknown message: " + text(line, length));
+        }
+    }
+
+    // Replayed although already handled, e.g. read from the old socket after the resume request was built; its payload is skipped too
+    private void onDuplicate(byte[] line, int length) {
+        metrics.messageReceived(ClientMetrics.Inbound.DUPLICATE);
+        if (matches(line, length, NODE) || matches(line, length, SCORE) || matches(line, length, OTHER_SCORE)
+                || matches(line, length, ACK)) {
+            pendingMessage = PENDING_DUPLICATE;
+        }
+    }
+
+    /** Payload of the handshake's "resume" request: our session token and last event, or "new". */
+    String resumeRequest() {
+        String token = sessionToken;
+        return token == null ? "new" : token + "," + lastEventSequence;
+    }
+
+    /**
+     * Reply to "resume": "resumed" (the missed events follow the handshake), "session token" for
+     * a new session numbered from 1, or "none" from a server that does not number its events.
+     */
+    void onResumeReply(String reply) {
+        if ("resumed".equals(reply)) {
+            System.out.println("Session resumed after event " + lastEventSequence);
+            return;
+        }
+        if (reply != null && reply.startsWith("session ")) {
+            if (sessionToken != null) {
+                System.out.println("Session expired on the server, joined as a new player");
+            }
+            sessionToken = reply.substring("session ".length());
+        } else {
+            sessionToken = null;
+        }
+        lastEventSequence = 0;
+    }
+
+    /**
+     * Called by the transport right after writing "heartbeat". Servers only echo once the game
+     * is joined, so a heartbeat left unanswered is simply replaced by the next one.
+     */
+    void onHeartbeatSent(long now) {
+        heartbeatSentAt = now;
+    }
+
+    private void onHeartbeatAck() {
+        long sentAt = heartbeatSentAt;
+        if (sentAt == 0) return;
+        heartbeatSentAt = 0;
+        long elapsed = System.nanoTime() - sentAt;
+        metrics.heartbeatRtt(elapsed);
+        rtt.record(elapsed);
+    }
+
+    /** Round trip estimate of this connection, the transports derive their timeouts from it. */
+    RttEstimator rtt() {
+        return rtt;
+    }
+
+    private void onPayload(int message, byte[] line, int length) {
+        switch (message) {
+            case PENDING_NODE -> {
+                if (parseNumbers(line, length) == 2) {
+                    listener.onOpponentMove(numbers[0], numbers[1]);
+                } else {
+                    System.err.println("Malformed node: " + text(line, length));
+                }
+            }
+            case PENDING_SCORE -> {
+                if (parseNumbers(line, length) == 1) {
+                    listener.onScore(numbers[0]);
+                } else {
+                    System.err.println("Error reading score: " + text(line, length));
+                }
+            }
+            case PENDING_OTHER_SCORE -> {
+                if (parseNumbers(line, length) == 1) {
+                    listener.onOpponentScore(numbers[0]);
+                } else {
+                    System.err.println("Error reading opponent score: " + text(line, length));
+                }
+            }
+            case PENDING_ACK -> {
+                // (seq,row,col,score): authoritative position once the move was processed
+                if (parseNumbers(line, length) == 4) {
+                    listener.onMoveAck(numbers[0], numbers[1], numbers[2], numbers[3]);
+                } else {
+                    System.err.println("Malformed move acknowledgement: " + text(line, length));
+                }
+            }
+            case PENDING_DUPLICATE -> {
+            }
+        }
+    }
+
+    private int parseNumbers(byte[] line, int length) {
+        return parseNumbers(line, length, numbers);
+    }
+
+    /**
+     * Parses "n", "(a,b)" or "(a,b,c,d)" into {@code numbers}. Returns how many numbers were read,
+     * or -1 for anything else (including more numbers than fit).
+     */
+    static int parseNumbers(byte[] line, int length, int[] numbers) {
+        int count = 0;
+        int i = 0;
+        if (length > 0 && line[0] == '(') {
+            if (line[length - 1] != ')') return -1;
+            i = 1;
+            length--;
+        }
+        while (i < length) {
+            while (i < length && line[i] == ' ') i++;
+            boolean negative = i < length && line[i] == '-';
+            if (negative) i++;
+            int digitsStart = i;
+            long value = 0;
+            while (i < length && line[i] >= '0' && line[i] <= '9') {
+                value = value * 10 + (line[i++] - '0');
+                if (value > Integer.MAX_VALUE) return -1;
+            }
+            if (i == digitsStart || count == numbers.length) return -1;
+            numbers[count++] = (int) (negative ? -value : value);
+            while (i < length && line[i] == ' ') i++;
+            if (i < length) {
+                if (line[i] != ',') return -1;
+                i++;
+                if (i == length) return -1;
+            }
+        }
+        return count;
+    }
+
+    // Digits from {@code from} to the end of the line, -1 if anything else is there
+    private static long parseSequence(byte[] line, int from, int length) {
+        if (from == length || length - from > 18) return -1;
+        long value = 0;
+        for (int i = from; i < length; i++) {
+            if (line[i] < '0' || line[i] > '9') return -1;
+            value = value * 10 + (line[i] - '0');
+        }
+        return value;
+    }
+
+    private static int indexOf(byte[] line, int length, byte value) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] == value) return i;
+        }
+        return -1;
+    }
+
+    private static boolean matches(byte[] line, int length, byte[] word) {
+        return length == word.length && Arrays.equals(line, 0, length, word, 0, length);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String text(byte[] line, int length) {
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /** Drops a half received message, used when the connection is replaced. */
+    void reset() {
+        pendingMessage = NONE;
+        heartbeatSentAt = 0;
+    }
+
+    void onMazeLoaded(Maze maze) {
+        // Still on the network thread: the UI and the bots get a grid ready for O(1) move checks
+        maze.getGrid().computeMoveMasks();
+        listener.onMazeLoaded(maze);
+    }
+
+    /** Parses "(row,column)"; returns null for anything else. */
+    static Node parseNode(String text) {
+        if (text == null) return null;
+        byte[] line = text.getBytes(StandardCharsets.UTF_8);
+        return resolveNode(line, line.length, null, new int[2]);
+    }
+
+    /**
+     * Parses "(row,column)" into the existing cell of {@code grid} when it holds the coordinates,
+     * a new Node otherwise (no maze loaded yet). Returns null for malformed input.
+     */
+    static Node resolveNode(byte[] line, int length, MazeGrid grid, int[] scratch) {
+        if (parseNumbers(line, length, scratch) != 2) {
+            System.err.println("Malformed node: " + text(line, length));
+            return null;
+        }
+        if (grid != null && grid.contains(scratch[0], scratch[1])) {
+            return grid.cell(scratch[0], scratch[1]);
+        }
+        return new Node(scratch[0], scratch[1]);
+    }
+
+    /** Legacy maze reply: Base64 of a Java serialized Node[][]. */
+    static Node[][] decodeSerializedMaze(String base64Data) throws IOException {
+        byte[] mazeData = Base64.getDecoder().decode(base64Data);
+        try (ByteArrayInputStream bis = new ByteArrayInputStream(mazeData);
+             ObjectInputStream ois = new ObjectInputStream(bis)) {
+            return (Node[][]) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unexpected maze payload", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.algorithm.client;
+
+import org.algorithm.maze_builder.Maze;
+
+/**
+ * Receives game events from a {@link GameClient}. Called on the client's network thread,
+ * implementations hand work over to their own thread when they need one (the UI does).
+ */
+public interface GameListener {
+
+    void onMazeLoaded(Maze maze);
+
+    void onOpponentMove(int row, int col);
+
+    void onTurnChange(boolean playerTurn);
+
+    void onScore(int score);
+
+    void onOpponentScore(int score);
+
+    /** Authoritative position and score once move {@code sequence} was processed (sequenced moves only). */
+    void onMoveAck(int sequence, int row, int col, int score);
+
+    void onGameOver();
+
+    /** Connection lost, being re-established or closed; see {@link ConnectionState}. */
+    default void onConnectionStateChanged(ConnectionState state) {
+    }
+}
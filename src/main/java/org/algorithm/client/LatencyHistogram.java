@@ -0,0 +1,52 @@
+package org.algorithm.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free latency histogram: bucket i counts samples between 2^i and 2^(i+1)
+ * microseconds. Memory does not grow with the number of samples, so it can run for the whole
+ * life of the client; percentiles are reported as the upper bound of their bucket.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong last = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(1, nanos / 1_000);
+        int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        max.accumulateAndGet(nanos, Math::max);
+        last.set(nanos);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /** Requested percentile (0-100) in milliseconds, or 0 without samples. */
+    public double percentileMillis(double percentile) {
+        long total = count.get();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) return Math.min((1L << (i + 1)) / 1_000.0, maxMillis());
+        }
+        return maxMillis();
+    }
+
+    public double maxMillis() {
+        return max.get() / 1_000_000.0;
+    }
+
+    public double lastMillis() {
+        return last.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,30 @@
+package org.algorithm.client;
+
+/**
+ * Compression of the maze reply, agreed on with the "compression" exchange during the handshake.
+ */
+public enum MazeCompression {
+    NONE("none"),         // payload sent as is
+    DEFLATE("deflate");   // payload wrapped in a DeflateFrameCodec frame
+
+    private final String wireName;
+
+    MazeCompression(String wireName) {
+        this.wireName = wireName;
+    }
+
+    public String getWireName() {
+        return wireName;
+    }
+
+    public static MazeCompression fromWireName(String name) {
+        if (name != null) {
+            for (MazeCompression compression : values()) {
+                if (compression.wireName.equalsIgnoreCase(name.trim())) {
+                    return compression;
+                }
+            }
+        }
+        return NONE;
+    }
+}
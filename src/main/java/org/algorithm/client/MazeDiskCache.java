@@ -0,0 +1,248 @@
+package org.algorithm.client;
+
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Mazes kept on disk by content hash, one file each, in the in-memory {@link MazeGrid} layout so
+ * loading is a memory map plus two bulk copies instead of a decode. Files are written to a temp
+ * name and moved into place, checked (magic, size, hash, CRC32C) on every load and evicted least
+ * recently used first once the directory grows past its size limit; the modification time
+ * doubles as the last access time.
+ *
+ * <pre>
+ * header : 'M' 'Z' 'C' '1' rows(4) cols(4) startRow(4) startCol(4) endRow(4) endCol(4)
+ *          hash(16) crc32c(4) of everything after the header
+ * cells  : one border byte per cell, then one UTF-16 char per cell (big-endian), row-major
+ * </pre>
+ */
+public final class MazeDiskCache {
+    private static final int MAGIC = ('M' << 24) | ('Z' << 16) | ('C' << 8) | '1';
+    private static final int HEADER_BYTES = 4 + 6 * 4 + 16 + 4;
+    private static final String SUFFIX = ".maze";
+    private static final int MAX_ADVERTISED = 8;
+    private static final Object LOCK = new Object();
+    private static volatile MazeDiskCache shared;
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public MazeDiskCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Cache configured by -Dmaze.cache.dir (default ~/.labyrinthe/mazes) and -Dmaze.cache.maxMB
+     * (default 64), or null when -Dmaze.cache=false.
+     */
+    public static MazeDiskCache shared() {
+        if (!Boolean.parseBoolean(System.getProperty("maze.cache", "true"))) return null;
+        MazeDiskCache result = shared;
+        if (result == null) {
+            synchronized (LOCK) {
+                result = shared;
+                if (result == null) {
+                    Path directory = Path.of(System.getProperty("maze.cache.dir",
+                            Path.of(System.getProperty("user.home"), ".labyrinthe", "mazes").toString()));
+                    long maxBytes = Long.getLong("maze.cache.maxMB", 64) * 1024 * 1024;
+                    result = new MazeDiskCache(directory, maxBytes);
+                    shared = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Hashes of cached mazes, most recently used first. */
+    public List<String> recentHashes(int limit) {
+        List<Path> files = listFiles();
+        files.sort(Comparator.comparing(MazeDiskCache::lastModified).reversed());
+        List<String> hashes = new ArrayList<>();
+        for (Path file : files) {
+            if (hashes.size() == limit) break;
+            String name = file.getFileName().toString();
+            hashes.add(name.substring(0, name.length() - SUFFIX.length()));
+        }
+        return hashes;
+    }
+
+    /**
+     * "mazeIfChanged" payload: the hash of the maze held in memory first, then the most recently
+     * used cached ones, comma separated; "-" when there is none.
+     */
+    static String knownHashes(Maze maze, MazeDiskCache cache) {
+        List<String> hashes = new ArrayList<>();
+        if (maze.getGrid() != null && maze.getHash() != null) {
+            hashes.add(maze.getHash());
+        }
+        if (cache != null) {
+            for (String hash : cache.recentHashes(MAX_ADVERTISED)) {
+                if (!hashes.contains(hash)) hashes.add(hash);
+            }
+        }
+        return hashes.isEmpty() ? "-" : String.join(",", hashes);
+    }
+
+    /**
+     * Loads the maze with this hash into {@code target} (grid, size, start and end).
+     * Returns false when it is not cached; a file that fails the checks is deleted.
+     */
+    public boolean load(String hash, Maze target) {
+        Path file = fileFor(hash);
+        if (file == null || !Files.isRegularFile(file)) return false;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) throw new IOException("truncated header");
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt() != MAGIC) throw new IOException("bad magic");
+            int rows = mapped.getInt();
+            int cols = mapped.getInt();
+            Node start = new Node(mapped.getInt(), mapped.getInt());
+            Node end = new Node(mapped.getInt(), mapped.getInt());
+            byte[] storedHash = new byte[16];
+            mapped.get(storedHash);
+            int storedCrc = mapped.getInt();
+            if (rows <= 0 || cols <= 0 || size != HEADER_BYTES + (long) rows * cols * 3) {
+                throw new IOException("size does not match " + rows + "x" + cols);
+            }
+            if (!HexFormat.of().formatHex(storedHash).equals(hash)) throw new IOException("hash mismatch");
+            CRC32C crc = new CRC32C();
+            crc.update(mapped.slice(HEADER_BYTES, (int) (size - HEADER_BYTES)));
+            if ((int) crc.getValue() != storedCrc) throw new IOException("checksum mismatch");
+
+            int cells = rows * cols;
+            byte[] borders = new byte[cells];
+            char[] values = new char[cells];
+            mapped.get(borders);
+            mapped.asCharBuffer().get(values);
+            target.setNbRow(rows);
+            target.setNbCol(cols);
+            target.setStart(start);
+            target.setEnd(end);
+            target.setGrid(new MazeGrid(rows, cols, borders, values));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Dropping corrupt cached maze " + hash + ": " + e.getMessage());
+            delete(file);
+            return false;
+        }
+        touch(file);
+        return true;
+    }
+
+    /** Writes the maze under its hash and evicts old entries if the cache is over its limit. */
+    public void store(String hash, Maze maze) {
+        Path file = fileFor(hash);
+        MazeGrid grid = maze.getGrid();
+        if (file == null || grid == null) return;
+        int cells = grid.getRows() * grid.getCols();
+        ByteBuffer data = ByteBuffer.allocate(HEADER_BYTES + cells * 3);
+        data.position(HEADER_BYTES);
+        data.put(grid.borderArray());
+        data.asCharBuffer().put(grid.valueArray());
+        CRC32C crc = new CRC32C();
+        crc.update(data.array(), HEADER_BYTES, cells * 3);
+        data.rewind();
+        data.putInt(MAGIC).putInt(grid.getRows()).putInt(grid.getCols());
+        data.putInt(maze.getStart().getRow()).putInt(maze.getStart().getColumn());
+        data.putInt(maze.getEnd().getRow()).putInt(maze.getEnd().getColumn());
+        data.put(HexFormat.of().parseHex(hash));
+        data.putInt((int) crc.getValue());
+        data.rewind();
+
+        synchronized (this) {
+            try {
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, hash, ".tmp");
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    while (data.hasRemaining()) channel.write(data);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                evict();
+            } catch (IOException e) {
+                System.err.println("Could not cache maze " + hash + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void evict() {
+        List<Path> files = listFiles();
+        long total = 0;
+        for (Path file : files) total += size(file);
+        if (total <= maxBytes) return;
+        files.sort(Comparator.comparing(MazeDiskCache::lastModified));
+        for (int i = 0; i < files.size() - 1 && total > maxBytes; i++) {
+            total -= size(files.get(i));
+            delete(files.get(i));
+        }
+    }
+
+    // Hashes come from the server, anything but 32 hex digits could escape the directory
+    private Path fileFor(String hash) {
+        if (hash == null || hash.length() != 32) return null;
+        for (int i = 0; i < hash.length(); i++) {
+            if (Character.digit(hash.charAt(i), 16) < 0) return null;
+        }
+        return directory.resolve(hash + SUFFIX);
+    }
+
+    private List<Path> listFiles() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return files;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            System.err.println("Cannot list maze cache: " + e.getMessage());
+        }
+        return files;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            System.err.println("Cannot update maze cache entry: " + e.getMessage());
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Cannot delete maze cache entry: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.algorithm.client;
+
+/**
+ * Encodings the server can use for the "maze" reply.
+ * The wire name is what both sides exchange during the "mazeFormat" negotiation.
+ */
+public enum MazeFormat {
+    SERIALIZED("serial"),   // Base64 line of a Java serialized Node[][]
+    BINARY("bin1");         // BinaryMazeCodec frame, version 1
+
+    private final String wireName;
+
+    MazeFormat(String wireName) {
+        this.wireName = wireName;
+    }
+
+    public String getWireName() {
+        return wireName;
+    }
+
+    public static MazeFormat fromWireName(String name) {
+        if (name != null) {
+            for (MazeFormat format : values()) {
+                if (format.wireName.equalsIgnoreCase(name.trim())) {
+                    return format;
+                }
+            }
+        }
+        return SERIALIZED;
+    }
+}
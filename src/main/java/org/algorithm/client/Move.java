@@ -0,0 +1,7 @@
+package org.algorithm.client;
+
+/**
+ * A move waiting to be sent. Sequence 0 means unsequenced (legacy "node" message).
+ */
+record Move(int sequence, int row, int column) {
+}
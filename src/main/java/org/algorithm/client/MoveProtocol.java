@@ -0,0 +1,30 @@
+package org.algorithm.client;
+
+/**
+ * How moves are sent, agreed on with the "moveProtocol" exchange during the handshake.
+ */
+public enum MoveProtocol {
+    LEGACY("legacy"),    // "node" + "(row,col)", never acknowledged
+    SEQUENCED("seq1");   // "move" + "(seq,row,col)", acknowledged with "ack" + "(seq,row,col,score)"
+
+    private final String wireName;
+
+    MoveProtocol(String wireName) {
+        this.wireName = wireName;
+    }
+
+    public String getWireName() {
+        return wireName;
+    }
+
+    public static MoveProtocol fromWireName(String name) {
+        if (name != null) {
+            for (MoveProtocol protocol : values()) {
+                if (protocol.wireName.equalsIgnoreCase(name.trim())) {
+                    return protocol;
+                }
+            }
+        }
+        return LEGACY;
+    }
+}
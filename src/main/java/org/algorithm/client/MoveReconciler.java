@@ -0,0 +1,135 @@
+package org.algorithm.client;
+
+import java.util.ArrayDeque;
+
+/**
+ * Client side prediction for sequenced moves. Moves are applied locally right away and kept
+ * until the server acknowledges them; when an acknowledged position differs from the
+ * prediction, the client snaps to the server's position and replays the moves still in flight.
+ * Not thread safe, meant to be driven from the UI thread.
+ */
+public class MoveReconciler {
+
+    public interface MoveValidator {
+        boolean isValidMove(int fromRow, int fromCol, int toRow, int toCol);
+    }
+
+    public interface InFlightVisitor {
+        void visit(int sequence, int row, int col);
+    }
+
+    private static final class PendingMove {
+        final int sequence;
+        final int deltaRow;
+        final int deltaCol;
+        int row;
+        int col;
+
+        PendingMove(int sequence, int deltaRow, int deltaCol, int row, int col) {
+            this.sequence = sequence;
+            this.deltaRow = deltaRow;
+            this.deltaCol = deltaCol;
+            this.row = row;
+            this.col = col;
+        }
+    }
+
+    private final MoveValidator validator;
+    private final ArrayDeque<PendingMove> pending = new ArrayDeque<>();
+    private int nextSequence = 1;
+    private int predictedRow;
+    private int predictedCol;
+    private int rollbacks;
+    private boolean lastAckCorrected;
+
+    public MoveReconciler(MoveValidator validator) {
+        this.validator = validator;
+    }
+
+    public void reset(int row, int col) {
+        pending.clear();
+        predictedRow = row;
+        predictedCol = col;
+    }
+
+    /** Records a move already applied locally and returns its sequence number. */
+    public int predict(int deltaRow, int deltaCol) {
+        int sequence = nextSequence++;
+        predictedRow += deltaRow;
+        predictedCol += deltaCol;
+        pending.addLast(new PendingMove(sequence, deltaRow, deltaCol, predictedRow, predictedCol));
+        return sequence;
+    }
+
+    /**
+     * Applies an acknowledgement. Returns true when the prediction was wrong and the
+     * predicted position moved; read it back with {@link #getPredictedRow()}/{@link #getPredictedCol()}.
+     */
+    public boolean onAck(int sequence, int row, int col) {
+        lastAckCorrected = false;
+        PendingMove acked = null;
+        while (!pending.isEmpty() && pending.peekFirst().sequence <= sequence) {
+            acked = pending.pollFirst();
+        }
+        if (acked == null) {
+            return false; // stale or duplicate acknowledgement
+        }
+        if (acked.sequence == sequence && acked.row == row && acked.col == col) {
+            return false;
+        }
+
+        // Rejected or corrected: replay what is still in flight on top of the server's position
+        lastAckCorrected = true;
+        int currentRow = row;
+        int currentCol = col;
+        for (var iterator = pending.iterator(); iterator.hasNext(); ) {
+            PendingMove move = iterator.next();
+            int nextRow = currentRow + move.deltaRow;
+            int nextCol = currentCol + move.deltaCol;
+            if (validator.isValidMove(currentRow, currentCol, nextRow, nextCol)) {
+                currentRow = nextRow;
+                currentCol = nextCol;
+                move.row = currentRow;
+                move.col = currentCol;
+            } else {
+                iterator.remove();
+            }
+        }
+        boolean moved = currentRow != predictedRow || currentCol != predictedCol;
+        predictedRow = currentRow;
+        predictedCol = currentCol;
+        if (moved) rollbacks++;
+        return moved;
+    }
+
+    /**
+     * True when the last acknowledgement contradicted its prediction, even if the replayed moves
+     * ended up where the prediction did.
+     */
+    public boolean isLastAckCorrected() {
+        return lastAckCorrected;
+    }
+
+    /** Visits the moves still in flight, oldest first, with the position each one predicts. */
+    public void forEachInFlight(InFlightVisitor visitor) {
+        for (PendingMove move : pending) {
+            visitor.visit(move.sequence, move.row, move.col);
+        }
+    }
+
+    public int getPredictedRow() {
+        return predictedRow;
+    }
+
+    public int getPredictedCol() {
+        return predictedCol;
+    }
+
+    public int getInFlight() {
+        return pending.size();
+    }
+
+    public int getRollbacks() {
+        return rollbacks;
+    }
+}
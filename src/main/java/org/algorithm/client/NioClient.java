@@ -0,0 +1,616 @@
+package org.algorithm.client;
+
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.Maze;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking transport: the socket, heartbeats, the connect and read timeouts and reconnects
+ * are all handled on a {@link ClientEventLoop} thread, so many clients can share one thread.
+ * Speaks the same protocol as {@link Client}, handshake included.
+ */
+public class NioClient implements GameClient, ClientEventLoop.Handler {
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 5_000;
+
+    private enum Step { EXTENSIONS, ROW, COLUMN, START, END, THEME, MOVE_PROTOCOL, MAZE_FORMAT, COMPRESSION, RESUME, MAZE_VERSION, MAZE, MAZE_FRAME, MAZE_COMPRESSED, RUNNING }
+
+    private final String host;
+    private final int port;
+    private final ClientEventLoop loop;
+    private final Maze maze = new Maze();
+    private final MazeFormat preferredMazeFormat;
+    private final MoveProtocol preferredMoveProtocol;
+    private final MazeCompression preferredCompression;
+    private volatile MoveProtocol moveProtocol = MoveProtocol.LEGACY;
+    private final boolean pipelinedHandshake;
+    private final boolean resumeSessions;
+    private final long extensionsTimeoutMillis;
+    private final MazeDiskCache diskCache = MazeDiskCache.shared();
+    private final GameEventDispatcher dispatcher;
+    private final ClientMetrics metrics = ClientMetrics.shared();
+    private final ConnectionStateMachine state;
+    private final RttEstimator rtt;
+
+    // Loop thread only
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private SocketChannel channel;
+    private SelectionKey key;
+    private Step step;
+    private long lastReadTime;
+    private long nextHeartbeat = Long.MAX_VALUE;
+    private long reconnectAt = Long.MAX_VALUE;
+    private long connectDeadline = Long.MAX_VALUE;
+    private long extensionsDeadline = Long.MAX_VALUE;
+    // What the server listed in reply to the probe, kept across reconnects; null until asked
+    private ServerExtensions extensions;
+    // Handshake requests still to be answered, in order
+    private final ArrayDeque<String> handshakeRequests = new ArrayDeque<>();
+    private final Backoff backoff = Backoff.fromProperties();
+    private byte[] lineBytes = new byte[256];
+    private int lineLength;
+    private byte[] frameHeader;
+    private byte[] frameBody;
+    private int frameFill;
+    private MazeFormat acceptedFormat;
+    private MazeCompression acceptedCompression = MazeCompression.NONE;
+    private String pendingHash;
+    private boolean pendingStore;
+    private long handshakeStart;
+
+    // Filled by any thread, drained by the loop
+    private final Object writeLock = new Object();
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(16 * 1024);
+    // Moves wait here from a disconnect until the next handshake completes, the buffer is reset in between
+    private final ArrayDeque<String> unsentMoves = new ArrayDeque<>();
+    private boolean movesFlowing;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Bytes left in writeBuffer after the last flush, as reported to the metrics
+    private long reportedBacklog;
+
+    public NioClient(String host, int port, GameListener listener, ClientEventLoop loop) {
+        this.host = host;
+        this.port = port;
+        this.loop = loop;
+        this.dispatcher = new GameEventDispatcher(listener);
+        this.state = new ConnectionStateMachine(listener);
+        this.rtt = dispatcher.rtt();
+        this.preferredMazeFormat = MazeFormat.fromWireName(System.getProperty("maze.format", MazeFormat.BINARY.getWireName()));
+        this.preferredMoveProtocol = MoveProtocol.fromWireName(System.getProperty("move.protocol", MoveProtocol.SEQUENCED.getWireName()));
+        this.preferredCompression = MazeCompression.fromWireName(System.getProperty("maze.compression", MazeCompression.DEFLATE.getWireName()));
+        this.pipelinedHandshake = !"sequential".equalsIgnoreCase(System.getProperty("maze.handshake", "pipelined"));
+        this.resumeSessions = Boolean.parseBoolean(System.getProperty("client.resume", "true"));
+        this.extensionsTimeoutMillis = Long.getLong("client.extensionsTimeoutMs", 2_000);
+    }
+
+    @Override
+    public void run() {
+        loop.add(this);
+        loop.execute(this::connect);
+    }
+
+    @Override
+    public void sendNodeToServer(Node node) {
+        sendMove(0, node);
+    }
+
+    @Override
+    public void sendMove(int sequence, Node node) {
+        // Header and payload in one write, so they leave in one segment
+        String message = sequence > 0 && isSequencedMoves()
+                ? "move\n(" + sequence + "," + node.getRow() + "," + node.getColumn() + ")"
+                : "node\n(" + node.getRow() + "," + node.getColumn() + ")";
+        synchronized (writeLock) {
+            if (!movesFlowing) {
+                unsentMoves.addLast(message);
+                metrics.sendQueueChanged(1);
+                return;
+            }
+            append(message);
+        }
+        scheduleFlush();
+    }
+
+    @Override
+    public boolean isSequencedMoves() {
+        return moveProtocol == MoveProtocol.SEQUENCED;
+    }
+
+    @Override
+    public void close() {
+        if (state.moveTo(ConnectionState.CLOSED)) {
+            loop.execute(() -> {
+                closeChannel();
+                synchronized (writeLock) {
+                    metrics.writeBacklogChanged(-reportedBacklog);
+                    reportedBacklog = 0;
+                    metrics.sendQueueChanged(-unsentMoves.size());
+                    unsentMoves.clear();
+                }
+                loop.remove(this);
+            });
+        }
+    }
+
+    private void connect() {
+        if (!state.moveTo(ConnectionState.CONNECTING)) return;
+        reconnectAt = Long.MAX_VALUE;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            lastReadTime = System.nanoTime();
+            connectDeadline = lastReadTime + TimeUnit.MILLISECONDS.toNanos(rtt.connectTimeoutMillis());
+            if (channel.connect(new InetSocketAddress(host, port))) {
+                key = channel.register(loop.selector(), SelectionKey.OP_READ, this);
+                onConnected();
+            } else {
+                key = channel.register(loop.selector(), SelectionKey.OP_CONNECT, this);
+            }
+        } catch (IOException e) {
+            onFailure(e);
+        }
+    }
+
+    private void onConnected() {
+        long now = System.nanoTime();
+        lastReadTime = now;
+        connectDeadline = Long.MAX_VALUE;
+        if (step == Step.RUNNING) {
+            metrics.reconnected();
+            System.out.println("Reconnected successfully!");
+        }
+        handshakeStart = now;
+        state.moveTo(ConnectionState.HANDSHAKING);
+        // Every new socket starts with a handshake, which resumes our session on the server
+        synchronized (writeLock) {
+            writeBuffer.clear();
+        }
+        if (extensions == null) {
+            // Asked on the first connection only
+            step = Step.EXTENSIONS;
+            extensionsDeadline = now + TimeUnit.MILLISECONDS.toNanos(extensionsTimeoutMillis);
+            send(ServerExtensions.REQUEST);
+        } else {
+            startHandshake();
+        }
+        flush();
+    }
+
+    private void onExtensions(String reply) {
+        extensionsDeadline = Long.MAX_VALUE;
+        extensions = ServerExtensions.parse(reply);
+        if (extensions != null) {
+            System.out.println("Server extensions: " + extensions);
+            startHandshake();
+            return;
+        }
+        extensions = ServerExtensions.NONE;
+        System.out.println("Server does not list its extensions, using the original handshake");
+        // Whatever the server made of the probe, the original handshake starts on a fresh connection
+        closeChannel();
+        connect();
+    }
+
+    /**
+     * Queues the board requests, then the extensions the server listed and we want. Pipelined,
+     * they all go out now, replayed on every connection: with the maze cached it costs one round
+     * trip and no transfer. Sequential, each one is sent once the previous reply is in.
+     */
+    private void startHandshake() {
+        handshakeRequests.clear();
+        handshakeRequests.addAll(List.of("row", "column", "start", "end", "theme"));
+        if (preferredMoveProtocol != MoveProtocol.LEGACY && extensions.supports(ServerExtensions.MOVE_PROTOCOL)) {
+            handshakeRequests.add(ServerExtensions.MOVE_PROTOCOL + "\n" + preferredMoveProtocol.getWireName());
+        } else {
+            moveProtocol = MoveProtocol.LEGACY;
+        }
+        if (preferredMazeFormat != MazeFormat.SERIALIZED && extensions.supports(ServerExtensions.MAZE_FORMAT)) {
+            handshakeRequests.add(ServerExtensions.MAZE_FORMAT + "\n" + preferredMazeFormat.getWireName());
+        }
+        if (preferredCompression != MazeCompression.NONE && extensions.supports(ServerExtensions.COMPRESSION)) {
+            handshakeRequests.add(ServerExtensions.COMPRESSION + "\n" + preferredCompression.getWireName());
+        }
+        if (resumeSessions && extensions.supports(ServerExtensions.RESUME)) {
+            handshakeRequests.add(ServerExtensions.RESUME + "\n" + dispatcher.resumeRequest());
+        }
+        if (extensions.supports(ServerExtensions.MAZE_IF_CHANGED)) {
+            handshakeRequests.add(ServerExtensions.MAZE_IF_CHANGED + "\n" + MazeDiskCache.knownHashes(maze, diskCache));
+        } else {
+            handshakeRequests.add("maze");
+        }
+        acceptedFormat = MazeFormat.SERIALIZED;
+        acceptedCompression = MazeCompression.NONE;
+        if (pipelinedHandshake) {
+            send(String.join("\n", handshakeRequests));
+        }
+        nextRequest();
+    }
+
+    // Expects the reply to the next handshake request, sending it first when sequential
+    private void nextRequest() {
+        String request = handshakeRequests.pollFirst();
+        int newline = request.indexOf('\n');
+        switch (newline < 0 ? request : request.substring(0, newline)) {
+            case "row" -> step = Step.ROW;
+            case "column" -> step = Step.COLUMN;
+            case "start" -> step = Step.START;
+            case "end" -> step = Step.END;
+            case "theme" -> step = Step.THEME;
+            case ServerExtensions.MOVE_PROTOCOL -> step = Step.MOVE_PROTOCOL;
+            case ServerExtensions.MAZE_FORMAT -> step = Step.MAZE_FORMAT;
+            case ServerExtensions.COMPRESSION -> step = Step.COMPRESSION;
+            case ServerExtensions.RESUME -> step = Step.RESUME;
+            case ServerExtensions.MAZE_IF_CHANGED -> step = Step.MAZE_VERSION;
+            default -> expectMaze();
+        }
+        if (!pipelinedHandshake) {
+            send(request);
+        }
+    }
+
+    @Override
+    public void onReady(SelectionKey key) throws IOException {
+        if (key.isConnectable()) {
+            channel.finishConnect();
+            key.interestOps(SelectionKey.OP_READ);
+            onConnected();
+        }
+        if (key.isValid() && key.isReadable()) {
+            read();
+        }
+        if (key.isValid() && key.isWritable()) {
+            flush();
+        }
+    }
+
+    @Override
+    public long onTimer(long now) {
+        if (!state.isOpen()) return Long.MAX_VALUE;
+        if (now >= reconnectAt) {
+            System.out.println("Attempting to reconnect (attempt " + backoff.attempts() + ")...");
+            connect();
+        }
+        long readTimeout = TimeUnit.MILLISECONDS.toNanos(rtt.readTimeoutMillis(HEARTBEAT_INTERVAL_MILLIS));
+        if (channel != null && channel.isConnected()) {
+            if (now >= extensionsDeadline) {
+                onExtensions(null);
+            } else if (now - lastReadTime >= readTimeout) {
+                onFailure(new IOException("Read timed out"));
+            } else if (now >= nextHeartbeat) {
+                send("heartbeat");
+                dispatcher.onHeartbeatSent(now);
+                nextHeartbeat = now + TimeUnit.MILLISECONDS.toNanos(HEARTBEAT_INTERVAL_MILLIS);
+            }
+        } else if (channel != null && now >= connectDeadline) {
+            onFailure(new IOException("Connect timed out"));
+        }
+        long deadline = reconnectAt;
+        if (channel != null && channel.isConnected()) {
+            deadline = Math.min(deadline, Math.min(extensionsDeadline, Math.min(nextHeartbeat, lastReadTime + readTimeout)));
+        } else if (channel != null) {
+            deadline = Math.min(deadline, connectDeadline);
+        }
+        return deadline;
+    }
+
+    // Runs on the loop thread, so there is only ever one reconnect pending per client
+    @Override
+    public void onFailure(IOException e) {
+        closeChannel();
+        if (!state.moveTo(ConnectionState.BACKING_OFF)) return;
+        long delay = backoff.nextDelayMillis();
+        System.err.println("Connection lost: " + e.getMessage() + ", reconnecting in " + delay + " ms");
+        reconnectAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+    }
+
+    private void closeChannel() {
+        if (key != null) key.cancel();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error during cleanup: " + e.getMessage());
+            }
+        }
+        key = null;
+        channel = null;
+        synchronized (writeLock) {
+            movesFlowing = false;
+        }
+        nextHeartbeat = Long.MAX_VALUE;
+        connectDeadline = Long.MAX_VALUE;
+        extensionsDeadline = Long.MAX_VALUE;
+        lineLength = 0;
+        dispatcher.reset();
+        if (step == Step.MAZE_FRAME || step == Step.MAZE_COMPRESSED) {
+            frameHeader = null;
+            frameBody = null;
+        }
+    }
+
+    private void read() throws IOException {
+        SocketChannel source = channel;
+        int read = source.read(readBuffer);
+        if (read < 0 && step == Step.EXTENSIONS) {
+            // Some servers hang up on requests they do not know
+            onExtensions(null);
+            return;
+        }
+        if (read < 0) {
+            throw new EOFException("Server disconnected");
+        }
+        lastReadTime = System.nanoTime();
+        readBuffer.flip();
+        try {
+            // A failed probe swaps the channel, what is left came from the old one
+            while (channel == source && readBuffer.hasRemaining()) {
+                if (step == Step.MAZE_FRAME || step == Step.MAZE_COMPRESSED) {
+                    readFrame();
+                } else {
+                    readLine();
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed server reply: " + e.getMessage(), e);
+        } finally {
+            readBuffer.clear();
+        }
+    }
+
+    private void readLine() throws IOException {
+        while (readBuffer.hasRemaining()) {
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                int length = lineLength > 0 && lineBytes[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                lineLength = 0;
+                if (step == Step.RUNNING) {
+                    // Gameplay messages are parsed in place, only the handshake needs Strings
+                    dispatcher.onLine(lineBytes, length);
+                } else {
+                    onLine(new String(lineBytes, 0, length, StandardCharsets.UTF_8));
+                }
+                return;
+            }
+            if (lineLength == lineBytes.length) {
+                lineBytes = Arrays.copyOf(lineBytes, lineLength * 2);
+            }
+            lineBytes[lineLength++] = b;
+        }
+    }
+
+    private void readFrame() throws IOException {
+        if (frameBody == null) {
+            int count = Math.min(readBuffer.remaining(), frameHeader.length - frameFill);
+            readBuffer.get(frameHeader, frameFill, count);
+            frameFill += count;
+            if (frameFill == frameHeader.length) {
+                frameBody = new byte[step == Step.MAZE_COMPRESSED
+                        ? DeflateFrameCodec.bodyLength(frameHeader) : BinaryMazeCodec.bodyLength(frameHeader)];
+                frameFill = 0;
+            }
+        }
+        if (frameBody != null) {
+            int count = Math.min(readBuffer.remaining(), frameBody.length - frameFill);
+            readBuffer.get(frameBody, frameFill, count);
+            frameFill += count;
+            if (frameFill == frameBody.length) {
+                long startTime = System.nanoTime();
+                if (step == Step.MAZE_COMPRESSED) {
+                    byte[] raw = DeflateFrameCodec.inflate(frameHeader, frameBody);
+                    DeflateFrameCodec.logTransfer(frameHeader, System.nanoTime() - startTime);
+                    decodeInflated(raw);
+                } else {
+                    BinaryMazeCodec.decode(frameHeader, frameBody, maze);
+                }
+                System.out.println("Decoded " + maze.getNbRow() + "x" + maze.getNbCol() + " " + acceptedFormat.getWireName()
+                        + " maze in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+                frameHeader = null;
+                frameBody = null;
+                onMazeReady();
+            }
+        }
+    }
+
+    // The inflated payload is what an uncompressed reply would have been: a bin1 frame or a Base64 line
+    private void decodeInflated(byte[] raw) throws IOException {
+        if (acceptedFormat == MazeFormat.BINARY) {
+            BinaryMazeCodec.read(new ProtocolInputStream(new ByteArrayInputStream(raw)), maze);
+        } else {
+            int length = raw.length > 0 && raw[raw.length - 1] == '\n' ? raw.length - 1 : raw.length;
+            maze.setMaze(GameEventDispatcher.decodeSerializedMaze(new String(raw, 0, length, StandardCharsets.US_ASCII)));
+        }
+    }
+
+    private void onLine(String line) throws IOException {
+        switch (step) {
+            case EXTENSIONS -> onExtensions(line);
+            case ROW -> {
+                maze.setNbRow(Integer.parseInt(line.trim()));
+                nextRequest();
+            }
+            case COLUMN -> {
+                maze.setNbCol(Integer.parseInt(line.trim()));
+                nextRequest();
+            }
+            case START -> {
+                maze.setStart(GameEventDispatcher.parseNode(line));
+                nextRequest();
+            }
+            case END -> {
+                maze.setEnd(GameEventDispatcher.parseNode(line));
+                nextRequest();
+            }
+            case THEME -> {
+                maze.setTheme(line);
+                nextRequest();
+            }
+            case MOVE_PROTOCOL -> {
+                moveProtocol = MoveProtocol.fromWireName(line);
+                System.out.println("Move protocol: " + moveProtocol.getWireName());
+                nextRequest();
+            }
+            case MAZE_FORMAT -> {
+                acceptedFormat = MazeFormat.fromWireName(line);
+                System.out.println("Maze format: " + acceptedFormat.getWireName());
+                nextRequest();
+            }
+            case COMPRESSION -> {
+                acceptedCompression = MazeCompression.fromWireName(line);
+                System.out.println("Maze compression: " + acceptedCompression.getWireName());
+                nextRequest();
+            }
+            case RESUME -> {
+                dispatcher.onResumeReply(line);
+                nextRequest();
+            }
+            case MAZE_VERSION -> {
+                String cachedHash = line.startsWith("cached ") ? line.substring("cached ".length()) : null;
+                if (cachedHash != null && maze.getGrid() != null && cachedHash.equals(maze.getHash())) {
+                    System.out.println("Maze " + cachedHash + " unchanged, handshake took "
+                            + (System.nanoTime() - handshakeStart) / 1_000_000 + " ms");
+                    send("mazeReady");
+                    onHandshakeCompleted();
+                } else if (cachedHash != null) {
+                    if (diskCache != null && diskCache.load(cachedHash, maze)) {
+                        System.out.println("Loaded maze " + cachedHash + " from disk cache, handshake took "
+                                + (System.nanoTime() - handshakeStart) / 1_000_000 + " ms");
+                        pendingHash = cachedHash;
+                        send("mazeReady");
+                        onMazeReady();
+                    } else {
+                        // Gone or corrupt since we advertised it
+                        pendingHash = cachedHash;
+                        pendingStore = true;
+                        expectMaze();
+                        send("maze");
+                    }
+                } else {
+                    pendingHash = line;
+                    pendingStore = true;
+                    expectMaze();
+                }
+            }
+            case MAZE -> {
+                maze.setMaze(GameEventDispatcher.decodeSerializedMaze(line));
+                onMazeReady();
+            }
+            default -> throw new IOException("Unexpected line in step " + step);
+        }
+    }
+
+    private void expectMaze() {
+        maze.setHash(null);
+        if (acceptedCompression == MazeCompression.DEFLATE) {
+            frameHeader = new byte[DeflateFrameCodec.HEADER_BYTES];
+            frameFill = 0;
+            step = Step.MAZE_COMPRESSED;
+        } else if (acceptedFormat == MazeFormat.BINARY) {
+            frameHeader = new byte[BinaryMazeCodec.HEADER_BYTES];
+            frameFill = 0;
+            step = Step.MAZE_FRAME;
+        } else {
+            step = Step.MAZE;
+        }
+    }
+
+    private void onMazeReady() {
+        maze.setHash(pendingHash);
+        if (pendingStore && pendingHash != null && diskCache != null) {
+            diskCache.store(pendingHash, maze);
+        }
+        pendingHash = null;
+        pendingStore = false;
+        onHandshakeCompleted();
+        dispatcher.onMazeLoaded(maze);
+    }
+
+    private void onHandshakeCompleted() {
+        if (step != Step.RUNNING) {
+            metrics.handshakeCompleted(System.nanoTime() - handshakeStart);
+            step = Step.RUNNING;
+        }
+        backoff.reset();
+        state.moveTo(ConnectionState.CONNECTED);
+        // Not during the handshake, where it would land between the requests
+        nextHeartbeat = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(HEARTBEAT_INTERVAL_MILLIS);
+        boolean drained;
+        synchronized (writeLock) {
+            movesFlowing = true;
+            drained = !unsentMoves.isEmpty();
+            if (drained) {
+                System.out.println("Sending " + unsentMoves.size() + " move(s) made while disconnected");
+                metrics.sendQueueChanged(-unsentMoves.size());
+            }
+            while (!unsentMoves.isEmpty()) {
+                append(unsentMoves.pollFirst());
+            }
+        }
+        if (drained) flush();
+    }
+
+    private void send(String message) {
+        synchronized (writeLock) {
+            append(message);
+        }
+        scheduleFlush();
+    }
+
+    // Caller holds writeLock
+    private void append(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        if (writeBuffer.remaining() < bytes.length + 1) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(writeBuffer.capacity() * 2, writeBuffer.position() + bytes.length + 1));
+            writeBuffer.flip();
+            larger.put(writeBuffer);
+            writeBuffer = larger;
+        }
+        writeBuffer.put(bytes).put((byte) '\n');
+    }
+
+    private void scheduleFlush() {
+        if (loop.inLoop()) {
+            flush();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    private void flush() {
+        if (channel == null || !channel.isConnected() || key == null) return;
+        try {
+            boolean pending;
+            synchronized (writeLock) {
+                writeBuffer.flip();
+                channel.write(writeBuffer);
+                writeBuffer.compact();
+                pending = writeBuffer.position() > 0;
+                metrics.writeBacklogChanged(writeBuffer.position() - reportedBacklog);
+                reportedBacklog = writeBuffer.position();
+            }
+            int ops = pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+            if (key.interestOps() != ops) {
+                key.interestOps(ops);
+            }
+        } catch (IOException e) {
+            onFailure(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.algorithm.client;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Buffered socket input that can serve both the line based text protocol and
+ * binary frames (the binary maze) from the same stream, which a BufferedReader
+ * cannot do since it swallows the bytes it reads ahead.
+ */
+public class ProtocolInputStream extends FilterInputStream {
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private byte[] lineBuffer = new byte[128];
+
+    public ProtocolInputStream(InputStream in) {
+        this(in, 8192);
+    }
+
+    public ProtocolInputStream(InputStream in, int bufferSize) {
+        super(in);
+        this.buffer = new byte[bufferSize];
+    }
+
+    private boolean fill() throws IOException {
+        position = 0;
+        limit = 0;
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) return false;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * Reads one '\n' terminated line, dropping a trailing '\r'.
+     * Returns null when the stream ends before any byte of the line.
+     */
+    public String readLine() throws IOException {
+        int length = readLineBytes();
+        return length < 0 ? null : new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Same as {@link #readLine()} without building a String: the line is left in
+     * {@link #lineBytes()} and its length returned, -1 at the end of the stream.
+     * The array is reused by the next read.
+     */
+    public int readLineBytes() throws IOException {
+        int length = 0;
+        boolean sawData = false;
+        while (true) {
+            if (position >= limit && !fill()) {
+                if (!sawData) return -1;
+                break;
+            }
+            sawData = true;
+            int start = position;
+            int end = start;
+            while (end < limit && buffer[end] != '\n') end++;
+            int chunk = end - start;
+            if (length + chunk > lineBuffer.length) {
+                lineBuffer = Arrays.copyOf(lineBuffer, Math.max(lineBuffer.length * 2, length + chunk));
+            }
+            System.arraycopy(buffer, start, lineBuffer, length, chunk);
+            length += chunk;
+            if (end < limit) {
+                position = end + 1;
+                break;
+            }
+            position = limit;
+        }
+        if (length > 0 && lineBuffer[length - 1] == '\r') length--;
+        return length;
+    }
+
+    public byte[] lineBytes() {
+        return lineBuffer;
+    }
+
+    public void readFully(byte[] target, int offset, int length) throws IOException {
+        while (length > 0) {
+            int read = read(target, offset, length);
+            if (read < 0) throw new EOFException("Stream ended with " + length + " bytes missing");
+            offset += read;
+            length -= read;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position >= limit && !fill()) return -1;
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        int available = limit - position;
+        if (available <= 0) {
+            // Large reads bypass the buffer entirely
+            if (length >= buffer.length) return in.read(target, offset, length);
+            if (!fill()) return -1;
+            available = limit;
+        }
+        int count = Math.min(available, length);
+        System.arraycopy(buffer, position, target, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        int available = limit - position;
+        if (available > 0) {
+            int skipped = (int) Math.min(available, n);
+            position += skipped;
+            return skipped;
+        }
+        return in.skip(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (limit - position) + in.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package org.algorithm.client;
+
+/**
+ * Smoothed heartbeat round trip of one connection (RFC 6298: srtt and rttvar with gains 1/8 and
+ * 1/4) and the timeouts derived from it. Until the server has echoed a heartbeat the timeouts
+ * keep their conservative defaults. Written by the network thread, read by any thread.
+ */
+final class RttEstimator {
+    static final int DEFAULT_READ_TIMEOUT_MILLIS = 30_000;
+    static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final long MIN_RTO_MILLIS = 1_000;
+    // A read timeout spans two heartbeats, so one late echo does not drop the connection
+    private static final int HEARTBEATS_PER_TIMEOUT = 2;
+
+    private volatile long smoothedNanos;
+    private volatile long varianceNanos;
+    private volatile long samples;
+
+    void record(long rttNanos) {
+        if (samples == 0) {
+            smoothedNanos = rttNanos;
+            varianceNanos = rttNanos / 2;
+        } else {
+            varianceNanos += (Math.abs(smoothedNanos - rttNanos) - varianceNanos) / 4;
+            smoothedNanos += (rttNanos - smoothedNanos) / 8;
+        }
+        samples++;
+    }
+
+    /** Retransmission-style timeout: smoothed RTT plus four deviations, at least one second. */
+    long rtoMillis() {
+        return Math.max(MIN_RTO_MILLIS, (smoothedNanos + 4 * varianceNanos) / 1_000_000);
+    }
+
+    /** Longest silence tolerated from a server that echoes heartbeats sent every {@code heartbeatIntervalMillis}. */
+    int readTimeoutMillis(long heartbeatIntervalMillis) {
+        if (samples == 0) return DEFAULT_READ_TIMEOUT_MILLIS;
+        return (int) Math.min(DEFAULT_READ_TIMEOUT_MILLIS, HEARTBEATS_PER_TIMEOUT * heartbeatIntervalMillis + rtoMillis());
+    }
+
+    int connectTimeoutMillis() {
+        if (samples == 0) return DEFAULT_CONNECT_TIMEOUT_MILLIS;
+        return (int) Math.min(DEFAULT_CONNECT_TIMEOUT_MILLIS, 2 * rtoMillis());
+    }
+}
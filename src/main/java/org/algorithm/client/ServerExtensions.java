@@ -0,0 +1,50 @@
+package org.algorithm.client;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Handshake requests a server understands beyond the original row, column, start, end, theme and
+ * maze, as listed in its reply to the "extensions" probe ("extensions moveProtocol mazeFormat ...").
+ * Servers that predate the probe do not answer it, or answer something else; they are sent only
+ * the original requests.
+ */
+public final class ServerExtensions {
+    public static final String REQUEST = "extensions";
+    public static final String MOVE_PROTOCOL = "moveProtocol";
+    public static final String MAZE_FORMAT = "mazeFormat";
+    public static final String COMPRESSION = "compression";
+    public static final String RESUME = "resume";
+    public static final String MAZE_IF_CHANGED = "mazeIfChanged";
+    public static final List<String> ALL = List.of(MOVE_PROTOCOL, MAZE_FORMAT, COMPRESSION, RESUME, MAZE_IF_CHANGED);
+    public static final ServerExtensions NONE = new ServerExtensions(Set.of());
+
+    private final Set<String> requests;
+
+    private ServerExtensions(Set<String> requests) {
+        this.requests = requests;
+    }
+
+    /** The server's answer to the probe. */
+    public static String reply(List<String> requests) {
+        return REQUEST + (requests.isEmpty() ? "" : " " + String.join(" ", requests));
+    }
+
+    /** Parses a reply to the probe; null when it is not one. */
+    public static ServerExtensions parse(String reply) {
+        if (reply == null) return null;
+        String[] words = reply.trim().split(" +");
+        if (!words[0].equals(REQUEST)) return null;
+        return new ServerExtensions(Set.copyOf(Arrays.asList(words).subList(1, words.length)));
+    }
+
+    public boolean supports(String request) {
+        return requests.contains(request);
+    }
+
+    @Override
+    public String toString() {
+        return requests.isEmpty() ? "none" : String.join(" ", requests);
+    }
+}
@@ -18,6 +18,13 @@ public class Node implements Serializable {
 
     }
 
+    // For views that keep their cell elsewhere and override the accessors
+    protected Node(int row, int column, boolean[] borders) {
+        this.row = row;
+        this.column = column;
+        this.borders = borders;
+    }
+
 
 
 
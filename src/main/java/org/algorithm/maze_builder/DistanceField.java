@@ -0,0 +1,48 @@
+package org.algorithm.maze_builder;
+
+import java.util.Arrays;
+
+/**
+ * Step counts from one source cell to every cell of a grid, -1 where the source cannot be reached.
+ * Moves are symmetric, so the same field gives the shortest path from any reachable cell back to
+ * the source and the region that cell belongs to.
+ */
+public record DistanceField(int rows, int cols, int sourceRow, int sourceCol, int[] distances) {
+
+    public int distance(int row, int col) {
+        return distances[row * cols + col];
+    }
+
+    public boolean reachable(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && distances[row * cols + col] >= 0;
+    }
+
+    public int reachableCount() {
+        return (int) Arrays.stream(distances).filter(d -> d >= 0).count();
+    }
+
+    /**
+     * Cell indices (row * cols + col) of a shortest path from this cell to the source, both
+     * included, or an empty array when the cell is not reachable. Walks down the field, so it
+     * costs the path length and not a new search.
+     */
+    public int[] pathToSource(MazeGrid grid, int row, int col) {
+        if (!reachable(row, col)) return new int[0];
+        int[] path = new int[distance(row, col) + 1];
+        path[0] = row * cols + col;
+        for (int step = 1; step < path.length; step++) {
+            int moves = grid.moveMask(row, col);
+            int next = distance(row, col) - 1;
+            for (; moves != 0; moves &= moves - 1) {
+                int d = Integer.numberOfTrailingZeros(moves);
+                if (distance(row + MoveRules.DELTA_ROW[d], col + MoveRules.DELTA_COL[d]) == next) {
+                    row += MoveRules.DELTA_ROW[d];
+                    col += MoveRules.DELTA_COL[d];
+                    break;
+                }
+            }
+            path[step] = row * cols + col;
+        }
+        return path;
+    }
+}
@@ -6,9 +6,12 @@ public class Maze {
     private int nbRow;
     private  int nbCol;
     private Node[][] maze;
+    private MazeGrid grid;
     private Node start;
     private Node end;
     private String theme;
+    // Content hash advertised by the server, identifies this exact maze across connections
+    private String hash;
 
 
     public void setTheme(String theme) {
@@ -49,12 +52,34 @@ public class Maze {
 
     public void setMaze(Node[][] maze) {
         this.maze = maze;
+        this.grid = maze != null ? MazeGrid.fromNodes(maze) : null;
     }
 
+    // Node views are only built when someone asks for them
     public Node[][] getMaze() {
+        if (maze == null && grid != null) {
+            maze = grid.toNodes();
+        }
         return maze;
     }
 
+    public void setGrid(MazeGrid grid) {
+        this.grid = grid;
+        this.maze = null;
+    }
+
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
     public int getNbRow() {
         return nbRow;
     }
@@ -63,16 +88,19 @@ public class Maze {
         return nbCol;
     }
     public  void printMaze() {
-        if (maze == null) {
+        if (grid == null) {
             System.out.println("Maze is null.");
             return;
         }
 
-        for (Node[] row : maze) {
-            for (Node node : row) {
-                System.out.print(node.isPartOfMaze() ? node.getValue() : "#");
+        StringBuilder line = new StringBuilder(grid.getCols());
+        for (int row = 0; row < grid.getRows(); row++) {
+            line.setLength(0);
+            for (int col = 0; col < grid.getCols(); col++) {
+                boolean partOfMaze = grid.getBorders(row, col) != MazeGrid.ALL_BORDERS;
+                line.append(partOfMaze ? grid.getValue(row, col) : '#');
             }
-            System.out.println();
+            System.out.println(line);
         }
     }
 }
@@ -0,0 +1,247 @@
+package org.algorithm.maze_builder;
+
+import org.algorithm.components.Node;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Maze cells packed into flat row-major arrays: one border bitmask byte and one char per cell.
+ * Walks over the grid touch two small arrays instead of a Node object plus its boolean[] per cell.
+ * {@link #node(int, int)} hands out Node views for code that still works with Node.
+ */
+public class MazeGrid {
+    // Border bits, same order as Node.getBorders(): top, right, bottom, left
+    public static final int TOP = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int BOTTOM = 1 << 2;
+    public static final int LEFT = 1 << 3;
+    public static final int ALL_BORDERS = TOP | RIGHT | BOTTOM | LEFT;
+
+    private final int rows;
+    private final int cols;
+    private final byte[] borders;
+    private final char[] values;
+    private volatile AtomicReferenceArray<Node> cells;
+    // Bit d set when the step in direction d of MoveRules.DELTA_ROW/DELTA_COL is legal
+    private volatile byte[] moveMasks;
+
+    public MazeGrid(int rows, int cols) {
+        this(rows, cols, new byte[rows * cols], new char[rows * cols]);
+        Arrays.fill(borders, (byte) ALL_BORDERS);
+    }
+
+    public MazeGrid(int rows, int cols, byte[] borders, char[] values) {
+        if (borders.length != rows * cols || values.length != rows * cols) {
+            throw new IllegalArgumentException("Arrays do not match a " + rows + "x" + cols + " grid");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.borders = borders;
+        this.values = values;
+    }
+
+    public static MazeGrid fromNodes(Node[][] nodes) {
+        int rows = nodes.length;
+        int cols = rows == 0 ? 0 : nodes[0].length;
+        MazeGrid grid = new MazeGrid(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                Node node = nodes[row][col];
+                int i = grid.index(row, col);
+                grid.borders[i] = (byte) toMask(node.getBorders());
+                grid.values[i] = node.getValue();
+            }
+        }
+        return grid;
+    }
+
+    public static int toMask(boolean[] borders) {
+        int mask = 0;
+        for (int d = 0; d < 4; d++) {
+            if (borders[d]) mask |= 1 << d;
+        }
+        return mask;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    public int getBorders(int row, int col) {
+        return borders[row * cols + col];
+    }
+
+    public boolean hasBorder(int row, int col, int border) {
+        return (borders[row * cols + col] & border) != 0;
+    }
+
+    public void setBorders(int row, int col, int mask) {
+        borders[row * cols + col] = (byte) (mask & ALL_BORDERS);
+        moveMasks = null;
+    }
+
+    /**
+     * Legal moves out of a cell, one bit per direction of {@link MoveRules#DELTA_ROW}, so checking
+     * a move is a single bit test. Built for the whole grid on first use, rebuilt after setBorders.
+     */
+    public int moveMask(int row, int col) {
+        byte[] masks = moveMasks;
+        if (masks == null) {
+            masks = computeMoveMasks();
+        }
+        return masks[row * cols + col] & 0xFF;
+    }
+
+    /** Builds the move masks now, so the first key press does not pay for it. */
+    public byte[] computeMoveMasks() {
+        byte[] masks = new byte[rows * cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int cellBorders = borders[row * cols + col];
+                int mask = 0;
+                for (int d = 0; d < MoveRules.DELTA_ROW.length; d++) {
+                    int nextRow = row + MoveRules.DELTA_ROW[d];
+                    int nextCol = col + MoveRules.DELTA_COL[d];
+                    if (contains(nextRow, nextCol) && MoveRules.possibleMove(MoveRules.DELTA_ROW[d], MoveRules.DELTA_COL[d],
+                            cellBorders, borders[nextRow * cols + nextCol])) {
+                        mask |= 1 << d;
+                    }
+                }
+                masks[row * cols + col] = (byte) mask;
+            }
+        }
+        moveMasks = masks;
+        return masks;
+    }
+
+    public char getValue(int row, int col) {
+        return values[row * cols + col];
+    }
+
+    public void setValue(int row, int col, char value) {
+        values[row * cols + col] = value;
+    }
+
+    /** Backing border masks, row-major. Shared, not copied. */
+    public byte[] borderArray() {
+        return borders;
+    }
+
+    /** Backing cell values, row-major. Shared, not copied. */
+    public char[] valueArray() {
+        return values;
+    }
+
+    public Node node(int row, int col) {
+        return new CellView(row, col);
+    }
+
+    /**
+     * Same view as {@link #node(int, int)}, created on first use and then reused, for hot paths
+     * that resolve many coordinates to cells. Node's coordinates are not final, so views are
+     * published through an atomic array: a thread reading a cached view also sees its coordinates.
+     * Two threads racing on an empty slot may each build a view; only one of them is kept.
+     */
+    public Node cell(int row, int col) {
+        AtomicReferenceArray<Node> cache = cells;
+        if (cache == null) {
+            synchronized (this) {
+                cache = cells;
+                if (cache == null) {
+                    cache = new AtomicReferenceArray<>(rows * cols);
+                    cells = cache;
+                }
+            }
+        }
+        int index = index(row, col);
+        Node cell = cache.get(index);
+        if (cell == null) {
+            cell = new CellView(row, col);
+            if (!cache.compareAndSet(index, null, cell)) {
+                cell = cache.get(index);
+            }
+        }
+        return cell;
+    }
+
+    public Node[][] toNodes() {
+        Node[][] nodes = new Node[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                nodes[row][col] = new CellView(row, col);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Node backed by the grid arrays, with no border array of its own. Writes go through to the
+     * grid; getBorders() returns a fresh copy, so mutate it with setBorders/removeBorder instead.
+     */
+    private class CellView extends Node {
+        private static final long serialVersionUID = 1L;
+
+        CellView(int row, int column) {
+            super(row, column, null);
+        }
+
+        // Written as a plain Node: the view itself would drag the whole grid along
+        private Object writeReplace() {
+            Node copy = new Node(getRow(), getColumn());
+            copy.setBorders(getBorders());
+            copy.setValue(getValue());
+            copy.setPartOfMaze(isPartOfMaze());
+            return copy;
+        }
+
+        @Override
+        public boolean[] getBorders() {
+            int mask = MazeGrid.this.getBorders(getRow(), getColumn());
+            return new boolean[]{(mask & TOP) != 0, (mask & RIGHT) != 0, (mask & BOTTOM) != 0, (mask & LEFT) != 0};
+        }
+
+        @Override
+        public void setBorders(boolean[] borders) {
+            MazeGrid.this.setBorders(getRow(), getColumn(), toMask(borders));
+        }
+
+        @Override
+        public void removeBorder(int direction) {
+            int mask = MazeGrid.this.getBorders(getRow(), getColumn());
+            MazeGrid.this.setBorders(getRow(), getColumn(), mask & ~(1 << direction));
+        }
+
+        @Override
+        public char getValue() {
+            return MazeGrid.this.getValue(getRow(), getColumn());
+        }
+
+        @Override
+        public void setValue(char value) {
+            MazeGrid.this.setValue(getRow(), getColumn(), value);
+        }
+
+        @Override
+        public boolean isPartOfMaze() {
+            return MazeGrid.this.getBorders(getRow(), getColumn()) != ALL_BORDERS;
+        }
+
+        // Follows from the borders, as isPartOfMaze does
+        @Override
+        public void setPartOfMaze(boolean partOfMaze) {
+        }
+    }
+}
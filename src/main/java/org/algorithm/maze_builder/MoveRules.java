@@ -0,0 +1,70 @@
+package org.algorithm.maze_builder;
+
+import static org.algorithm.maze_builder.MazeGrid.BOTTOM;
+import static org.algorithm.maze_builder.MazeGrid.LEFT;
+import static org.algorithm.maze_builder.MazeGrid.RIGHT;
+import static org.algorithm.maze_builder.MazeGrid.TOP;
+
+/**
+ * Movement rules shared by the UI, the move reconciler and the bots: one step in any of the
+ * eight directions, diagonals only when both walls on each side of the corner are open.
+ */
+public final class MoveRules {
+    // Row and column deltas of the eight directions
+    public static final int[] DELTA_ROW = {-1, 1, 0, 0, -1, -1, 1, 1};
+    public static final int[] DELTA_COL = {0, 0, -1, 1, -1, 1, -1, 1};
+
+    private MoveRules() {
+    }
+
+    // Direction index by (dRow + 1) * 3 + (dCol + 1)
+    private static final int[] DIRECTION_BY_DELTA = {4, 0, 5, 2, -1, 3, 6, 1, 7};
+
+    public static boolean isValidMove(MazeGrid maze, int oldRow, int oldCol, int newRow, int newCol) {
+        if (!maze.contains(newRow, newCol)) return false;
+
+        int rowDiff = newRow - oldRow;
+        int colDiff = newCol - oldCol;
+        if (rowDiff == 0 && colDiff == 0) return true;
+
+        int direction = direction(rowDiff, colDiff);
+        return direction >= 0 && (maze.moveMask(oldRow, oldCol) & (1 << direction)) != 0;
+    }
+
+    /** Index into DELTA_ROW/DELTA_COL of a one cell step, -1 for anything else. */
+    public static int direction(int dRow, int dCol) {
+        if (dRow < -1 || dRow > 1 || dCol < -1 || dCol > 1) return -1;
+        return DIRECTION_BY_DELTA[(dRow + 1) * 3 + dCol + 1];
+    }
+
+    // Masks use the MazeGrid border bits; a move is open when none of the listed walls is set
+    public static boolean possibleMove(int dRow, int dCol, int cBorders, int nBorders) {
+        return switch (dRow) {
+            case -1 -> {
+                yield switch (dCol) {
+                    case -1 -> (cBorders & (TOP | LEFT)) == 0 && (nBorders & (RIGHT | BOTTOM)) == 0;
+                    case 0 -> (cBorders & TOP) == 0 && (nBorders & BOTTOM) == 0;
+                    case 1 -> (cBorders & (TOP | RIGHT)) == 0 && (nBorders & (BOTTOM | LEFT)) == 0;
+                    default -> false;
+                };
+            }
+            case 1 -> {
+                yield switch (dCol) {
+                    case -1 -> (cBorders & (BOTTOM | LEFT)) == 0 && (nBorders & (RIGHT | TOP)) == 0;
+                    case 0 -> (cBorders & BOTTOM) == 0 && (nBorders & TOP) == 0;
+                    case 1 -> (cBorders & (RIGHT | BOTTOM)) == 0 && (nBorders & (TOP | LEFT)) == 0;
+                    default -> false;
+                };
+            }
+            case 0 -> {
+                yield switch (dCol) {
+                    case -1 -> (cBorders & LEFT) == 0 && (nBorders & RIGHT) == 0;
+                    case 0 -> true;
+                    case 1 -> (cBorders & RIGHT) == 0 && (nBorders & LEFT) == 0;
+                    default -> false;
+                };
+            }
+            default -> false;
+        };
+    }
+}
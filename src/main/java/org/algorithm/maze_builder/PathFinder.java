@@ -0,0 +1,49 @@
+package org.algorithm.maze_builder;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Breadth-first search over the eight-neighbour maze graph, following the moves allowed by
+ * {@link MazeGrid#moveMask(int, int)}. Every step costs one, so BFS already gives shortest paths.
+ */
+public final class PathFinder {
+    // How many cells are expanded between two checks of the cancel flag
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private PathFinder() {
+    }
+
+    /**
+     * Distances from (row, col) to every cell. Returns null when {@code cancelled} turns true
+     * before the search is done.
+     */
+    public static DistanceField distancesFrom(MazeGrid grid, int row, int col, BooleanSupplier cancelled) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int[] distances = new int[rows * cols];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[rows * cols];
+        int head = 0;
+        int tail = 0;
+        distances[row * cols + col] = 0;
+        queue[tail++] = row * cols + col;
+
+        while (head < tail) {
+            if (head % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) return null;
+            int cell = queue[head++];
+            int cellRow = cell / cols;
+            int cellCol = cell % cols;
+            int next = distances[cell] + 1;
+            for (int moves = grid.moveMask(cellRow, cellCol); moves != 0; moves &= moves - 1) {
+                int d = Integer.numberOfTrailingZeros(moves);
+                int neighbour = (cellRow + MoveRules.DELTA_ROW[d]) * cols + cellCol + MoveRules.DELTA_COL[d];
+                if (distances[neighbour] < 0) {
+                    distances[neighbour] = next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return new DistanceField(rows, cols, row, col, distances);
+    }
+}
@@ -0,0 +1,58 @@
+package org.algorithm.maze_builder;
+
+/**
+ * One bit per cell of a grid, row-major, with a running count. Eight bytes hold 64 cells, so a
+ * whole game's trail stays a few kilobytes whatever its length.
+ */
+public final class VisitedCells {
+    private final int rows;
+    private final int cols;
+    private final long[] bits;
+    private int count;
+
+    public VisitedCells(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.bits = new long[(rows * cols + 63) / 64];
+    }
+
+    /** Marks the cell; returns false when it was already visited. */
+    public boolean mark(int row, int col) {
+        int index = row * cols + col;
+        long mask = 1L << index;
+        long word = bits[index >>> 6];
+        if ((word & mask) != 0) return false;
+        bits[index >>> 6] = word | mask;
+        count++;
+        return true;
+    }
+
+    /** Clears the cell; returns false when it was not visited. */
+    public boolean unmark(int row, int col) {
+        int index = row * cols + col;
+        long mask = 1L << index;
+        long word = bits[index >>> 6];
+        if ((word & mask) == 0) return false;
+        bits[index >>> 6] = word & ~mask;
+        count--;
+        return true;
+    }
+
+    public boolean contains(int row, int col) {
+        int index = row * cols + col;
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /** Number of distinct cells marked. */
+    public int count() {
+        return count;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+}
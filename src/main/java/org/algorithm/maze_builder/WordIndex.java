@@ -0,0 +1,161 @@
+package org.algorithm.maze_builder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aho-Corasick automaton over the words of a theme (letters A to Z). The goto and failure links are
+ * folded into one transition table, so feeding a letter is a single array read whatever the
+ * dictionary size. Dictionaries are read from /words/&lt;theme&gt;.txt, one word per line, and each
+ * theme is compiled once per JVM.
+ */
+public final class WordIndex {
+    private static final int ALPHABET = 26;
+    private static final int[] NO_MATCH = new int[0];
+    private static final Map<String, WordIndex> BY_THEME = new ConcurrentHashMap<>();
+
+    private final int[] transitions;
+    // Lengths of the dictionary words ending in each state, longest first
+    private final int[][] matches;
+    private final int maxLength;
+    private final int words;
+
+    private WordIndex(int[] transitions, int[][] matches, int maxLength, int words) {
+        this.transitions = transitions;
+        this.matches = matches;
+        this.maxLength = maxLength;
+        this.words = words;
+    }
+
+    /** Index of the theme's dictionary, built on first use; empty when there is none. */
+    public static WordIndex forTheme(String theme) {
+        String key = theme == null ? "" : theme.toLowerCase(Locale.ROOT);
+        return BY_THEME.computeIfAbsent(key, WordIndex::load);
+    }
+
+    private static WordIndex load(String theme) {
+        List<String> words = new ArrayList<>();
+        try (InputStream in = WordIndex.class.getResourceAsStream("/words/" + theme + ".txt")) {
+            if (in == null) {
+                System.err.println("No word list for theme '" + theme + "'");
+            } else {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    words.add(line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot read word list for theme '" + theme + "': " + e.getMessage());
+        }
+        long startTime = System.nanoTime();
+        WordIndex index = build(words);
+        System.out.println("Word index for '" + theme + "': " + index.words + " words, "
+                + index.matches.length + " states in " + (System.nanoTime() - startTime) / 1_000 + " µs");
+        return index;
+    }
+
+    /** Words are trimmed and upper-cased; empty ones and any with characters outside A to Z are skipped. */
+    public static WordIndex build(List<String> dictionary) {
+        List<String> words = new ArrayList<>(dictionary.size());
+        for (String entry : dictionary) {
+            String word = entry.strip().toUpperCase(Locale.ROOT);
+            if (!word.isEmpty() && word.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+                words.add(word);
+            }
+        }
+        int capacity = 1;
+        for (String word : words) capacity += word.length();
+        int[] transitions = new int[capacity * ALPHABET];
+        Arrays.fill(transitions, -1);
+        boolean[] wordEnd = new boolean[capacity];
+        int[] depth = new int[capacity];
+        int states = 1;
+        int maxLength = 0;
+
+        // Trie
+        for (String word : words) {
+            int state = 0;
+            for (int i = 0; i < word.length(); i++) {
+                int slot = state * ALPHABET + word.charAt(i) - 'A';
+                if (transitions[slot] < 0) {
+                    depth[states] = depth[state] + 1;
+                    transitions[slot] = states++;
+                }
+                state = transitions[slot];
+            }
+            wordEnd[state] = true;
+            maxLength = Math.max(maxLength, word.length());
+        }
+
+        // Failure links in BFS order, missing transitions borrowed from the failure state
+        int[] fail = new int[states];
+        int[][] matches = new int[states][];
+        matches[0] = NO_MATCH;
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = transitions[c];
+            if (child < 0) {
+                transitions[c] = 0;
+            } else {
+                fail[child] = 0;
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int[] inherited = matches[fail[state]];
+            matches[state] = wordEnd[state] ? prepend(depth[state], inherited) : inherited;
+            for (int c = 0; c < ALPHABET; c++) {
+                int slot = state * ALPHABET + c;
+                int child = transitions[slot];
+                if (child < 0) {
+                    transitions[slot] = transitions[fail[state] * ALPHABET + c];
+                } else {
+                    fail[child] = transitions[fail[state] * ALPHABET + c];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        return new WordIndex(Arrays.copyOf(transitions, states * ALPHABET), matches, maxLength, words.size());
+    }
+
+    private static int[] prepend(int length, int[] rest) {
+        int[] result = new int[rest.length + 1];
+        result[0] = length;
+        System.arraycopy(rest, 0, result, 1, rest.length);
+        return result;
+    }
+
+    /** Start state, also where any character outside A to Z leads. */
+    public int start() {
+        return 0;
+    }
+
+    public int next(int state, char letter) {
+        int c = Character.toUpperCase(letter) - 'A';
+        if (c < 0 || c >= ALPHABET) return 0;
+        return transitions[state * ALPHABET + c];
+    }
+
+    /** Lengths of the words that end with the last letter fed, longest first; never null. */
+    public int[] matches(int state) {
+        return matches[state];
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+}
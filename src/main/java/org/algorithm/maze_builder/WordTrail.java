@@ -0,0 +1,57 @@
+package org.algorithm.maze_builder;
+
+/**
+ * Feeds the letters of the cells a player walks through into a {@link WordIndex}, one per step,
+ * and remembers the last few cells so a completed word can be traced back on the grid.
+ */
+public final class WordTrail {
+    private final WordIndex index;
+    // Ring buffer of the last maxLength cells, enough to hold the longest word
+    private final int[] rows;
+    private final int[] cols;
+    private int size;
+    private int next;
+    private int state;
+
+    public WordTrail(WordIndex index) {
+        this.index = index;
+        int capacity = Math.max(1, index.maxLength());
+        rows = new int[capacity];
+        cols = new int[capacity];
+        state = index.start();
+    }
+
+    /** Records the cell just entered; returns the length of the longest word it completes, 0 if none. */
+    public int step(int row, int col, char letter) {
+        rows[next] = row;
+        cols[next] = col;
+        next = (next + 1) % rows.length;
+        if (size < rows.length) size++;
+        state = index.next(state, letter);
+        int[] matches = index.matches(state);
+        return matches.length == 0 ? 0 : matches[0];
+    }
+
+    /** Row of the cell entered {@code back} steps ago, 0 being the last one. */
+    public int rowAt(int back) {
+        return rows[slot(back)];
+    }
+
+    public int colAt(int back) {
+        return cols[slot(back)];
+    }
+
+    /** Forgets the trail, used when the position jumps (server correction). */
+    public void reset() {
+        size = 0;
+        next = 0;
+        state = index.start();
+    }
+
+    private int slot(int back) {
+        if (back < 0 || back >= size) {
+            throw new IndexOutOfBoundsException("Only " + size + " cells in the trail, asked for " + back);
+        }
+        return Math.floorMod(next - 1 - back, rows.length);
+    }
+}
@@ -0,0 +1,140 @@
+package org.algorithm.server;
+
+import org.algorithm.client.MoveProtocol;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+import org.algorithm.maze_builder.MoveRules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One game on the stub server. Players take turns; a move onto a cell nobody has visited
+ * scores a point, reaching the end cell ends the game for everyone. With a single player
+ * the turn comes straight back after every move.
+ */
+class GameSession {
+    private final Maze maze;
+    private final MazeGrid grid;
+    private final int capacity;
+    private final List<PlayerSession> players = new ArrayList<>();
+    private final List<int[]> positions = new ArrayList<>();
+    private final List<Integer> scores = new ArrayList<>();
+    private final boolean[] visited;
+    private int turn;
+    private boolean started;
+    private boolean over;
+
+    GameSession(Maze maze, int capacity) {
+        this.maze = maze;
+        this.grid = maze.getGrid();
+        this.capacity = capacity;
+        this.visited = new boolean[grid.getRows() * grid.getCols()];
+        visited[grid.index(maze.getStart().getRow(), maze.getStart().getColumn())] = true;
+    }
+
+    synchronized boolean isFull() {
+        return players.size() >= capacity;
+    }
+
+    synchronized void join(PlayerSession player) {
+        players.add(player);
+        positions.add(new int[]{maze.getStart().getRow(), maze.getStart().getColumn()});
+        scores.add(0);
+        if (isFull()) {
+            started = true;
+            System.out.println("Stub server: game started with " + players.size() + " player(s)");
+            announceTurn();
+        }
+    }
+
+    synchronized void move(PlayerSession player, int sequence, int row, int col) {
+        int index = players.indexOf(player);
+        if (index < 0 || over) return;
+        int[] position = positions.get(index);
+        boolean sequenced = player.getMoveProtocol() == MoveProtocol.SEQUENCED;
+        if (!started || index != turn || !MoveRules.isValidMove(grid, position[0], position[1], row, col)) {
+            // Rejected: the acknowledgement carries the position the client must snap back to
+            if (sequenced) {
+                player.sendEvent("ack", ack(sequence, position[0], position[1], scores.get(index)));
+            }
+            return;
+        }
+        player.setLastMoveSequence(sequence);
+
+        position[0] = row;
+        position[1] = col;
+        int cell = grid.index(row, col);
+        if (!visited[cell]) {
+            visited[cell] = true;
+            scores.set(index, scores.get(index) + 1);
+        }
+        int score = scores.get(index);
+        if (sequenced) {
+            player.sendEvent("ack", ack(sequence, row, col, score));
+        } else {
+            player.sendEvent("score", String.valueOf(score));
+        }
+        for (PlayerSession other : players) {
+            if (other != player) {
+                other.sendEvent("node", PlayerConnection.position(row, col));
+                other.sendEvent("otherScore", String.valueOf(score));
+            }
+        }
+
+        if (row == maze.getEnd().getRow() && col == maze.getEnd().getColumn()) {
+            over = true;
+            players.forEach(p -> p.sendEvent("gameOver"));
+            return;
+        }
+        turn = (turn + 1) % players.size();
+        announceTurn();
+    }
+
+    synchronized void leave(PlayerSession player) {
+        int index = players.indexOf(player);
+        if (index < 0) return;
+        players.remove(index);
+        positions.remove(index);
+        scores.remove(index);
+        if (players.isEmpty() || over) return;
+        if (turn >= players.size()) turn = 0;
+        // The game goes on with whoever is left, the way a solo game does
+        if (index <= turn) announceTurn();
+    }
+
+    /**
+     * Brings a resumed player whose missed events were no longer buffered up to date, using the
+     * ordinary events: its own position and score, every opponent's, then the turn.
+     */
+    synchronized void sendSnapshot(PlayerSession player) {
+        int index = players.indexOf(player);
+        if (index < 0) return;
+        int[] position = positions.get(index);
+        if (player.getMoveProtocol() == MoveProtocol.SEQUENCED) {
+            player.sendEvent("ack", ack(player.getLastMoveSequence(), position[0], position[1], scores.get(index)));
+        } else {
+            player.sendEvent("score", String.valueOf(scores.get(index)));
+        }
+        for (int i = 0; i < players.size(); i++) {
+            if (i == index) continue;
+            player.sendEvent("node", PlayerConnection.position(positions.get(i)[0], positions.get(i)[1]));
+            player.sendEvent("otherScore", String.valueOf(scores.get(i)));
+        }
+        if (over) {
+            player.sendEvent("gameOver");
+        } else if (started) {
+            player.sendEvent(index == turn ? "turn" : "not");
+        }
+    }
+
+    private void announceTurn() {
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).sendEvent(i == turn ? "turn" : "not");
+        }
+    }
+
+    private static String ack(int sequence, int row, int col, int score) {
+        return "(" + sequence + "," + row + "," + col + "," + score + ")";
+    }
+}
@@ -0,0 +1,72 @@
+package org.algorithm.server;
+
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+
+import java.util.Random;
+
+/**
+ * Random perfect mazes (iterative depth-first carving) for the stub server, with a random
+ * letter in every cell, start at the top left and end at the bottom right.
+ */
+public final class MazeGenerator {
+    private static final int[] DELTA_ROW = {-1, 0, 1, 0};
+    private static final int[] DELTA_COL = {0, 1, 0, -1};
+    private static final int[] WALL = {MazeGrid.TOP, MazeGrid.RIGHT, MazeGrid.BOTTOM, MazeGrid.LEFT};
+    private static final int[] OPPOSITE_WALL = {MazeGrid.BOTTOM, MazeGrid.LEFT, MazeGrid.TOP, MazeGrid.RIGHT};
+
+    private MazeGenerator() {
+    }
+
+    public static Maze generate(int rows, int cols, String theme, long seed) {
+        Random random = new Random(seed);
+        MazeGrid grid = new MazeGrid(rows, cols);
+        boolean[] visited = new boolean[rows * cols];
+        int[] stack = new int[rows * cols];
+        int[] directions = {0, 1, 2, 3};
+        int size = 0;
+        stack[size++] = 0;
+        visited[0] = true;
+        while (size > 0) {
+            int cell = stack[size - 1];
+            int row = cell / cols;
+            int col = cell % cols;
+            shuffle(directions, random);
+            boolean carved = false;
+            for (int d : directions) {
+                int nextRow = row + DELTA_ROW[d];
+                int nextCol = col + DELTA_COL[d];
+                if (!grid.contains(nextRow, nextCol) || visited[grid.index(nextRow, nextCol)]) continue;
+                grid.setBorders(row, col, grid.getBorders(row, col) & ~WALL[d]);
+                grid.setBorders(nextRow, nextCol, grid.getBorders(nextRow, nextCol) & ~OPPOSITE_WALL[d]);
+                visited[grid.index(nextRow, nextCol)] = true;
+                stack[size++] = grid.index(nextRow, nextCol);
+                carved = true;
+                break;
+            }
+            if (!carved) size--;
+        }
+        for (int i = 0; i < rows * cols; i++) {
+            grid.valueArray()[i] = (char) ('A' + random.nextInt(26));
+        }
+
+        Maze maze = new Maze();
+        maze.setNbRow(rows);
+        maze.setNbCol(cols);
+        maze.setStart(new Node(0, 0));
+        maze.setEnd(new Node(rows - 1, cols - 1));
+        maze.setTheme(theme);
+        maze.setGrid(grid);
+        return maze;
+    }
+
+    private static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
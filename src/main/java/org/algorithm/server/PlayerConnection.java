@@ -0,0 +1,298 @@
+package org.algorithm.server;
+
+import org.algorithm.client.BinaryMazeCodec;
+import org.algorithm.client.DeflateFrameCodec;
+import org.algorithm.client.MazeCompression;
+import org.algorithm.client.MazeFormat;
+import org.algorithm.client.MoveProtocol;
+import org.algorithm.client.ServerExtensions;
+import org.algorithm.maze_builder.Maze;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One client socket on the stub server: answers the handshake, forwards moves to its
+ * {@link GameSession} and writes outbound messages, optionally delayed to simulate latency.
+ */
+class PlayerConnection implements Runnable {
+    private final Socket socket;
+    private final StubGameServer server;
+    private final StubServerOptions options;
+    private final Maze maze;
+    private final OutputStream out;
+    private final DelayQueue<Outbound> delayed = new DelayQueue<>();
+    private long lastDue;
+    private volatile boolean open = true;
+    private MoveProtocol moveProtocol = MoveProtocol.LEGACY;
+    private MazeFormat mazeFormat = MazeFormat.SERIALIZED;
+    private MazeCompression compression = MazeCompression.NONE;
+    // Seat in the game, set once joined
+    private volatile PlayerSession player;
+    // From the "resume" request: the token of a new session, or the seat claimed and the last event seen
+    private String token;
+    private volatile PlayerSession resuming;
+    private long resumeAfter;
+
+    private static final class Outbound implements Delayed {
+        final byte[] bytes;
+        final long due;
+
+        Outbound(byte[] bytes, long due) {
+            this.bytes = bytes;
+            this.due = due;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(due - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(due, ((Outbound) other).due);
+        }
+    }
+
+    PlayerConnection(Socket socket, StubGameServer server, StubServerOptions options, Maze maze) throws IOException {
+        this.socket = socket;
+        this.server = server;
+        this.options = options;
+        this.maze = maze;
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+        if (options.latencyMillis() > 0 || options.jitterMillis() > 0) {
+            Thread.ofVirtual().name("stub-writer").start(this::writeDelayed);
+        }
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    MoveProtocol getMoveProtocol() {
+        return moveProtocol;
+    }
+
+    @Override
+    public void run() {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while (open && (line = in.readLine()) != null) {
+                switch (line) {
+                    case "row" -> send(String.valueOf(maze.getNbRow()));
+                    case "column" -> send(String.valueOf(maze.getNbCol()));
+                    case "start" -> send(position(maze.getStart().getRow(), maze.getStart().getColumn()));
+                    case "end" -> send(position(maze.getEnd().getRow(), maze.getEnd().getColumn()));
+                    case "theme" -> send(maze.getTheme().toLowerCase());
+                    case ServerExtensions.REQUEST -> {
+                        if (options.serialOnly()) {
+                            // Old servers leave the probe unanswered
+                            System.out.println("Stub server: unknown message " + line);
+                        } else {
+                            send(ServerExtensions.reply(ServerExtensions.ALL));
+                        }
+                    }
+                    case "moveProtocol" -> {
+                        MoveProtocol requested = MoveProtocol.fromWireName(in.readLine());
+                        moveProtocol = options.serialOnly() ? MoveProtocol.LEGACY : requested;
+                        send(moveProtocol.getWireName());
+                    }
+                    case "mazeFormat" -> {
+                        MazeFormat requested = MazeFormat.fromWireName(in.readLine());
+                        mazeFormat = options.serialOnly() ? MazeFormat.SERIALIZED : requested;
+                        send(mazeFormat.getWireName());
+                    }
+                    case "maze" -> {
+                        sendMaze();
+                        joinGame();
+                    }
+                    case "compression" -> {
+                        MazeCompression requested = MazeCompression.fromWireName(in.readLine());
+                        compression = options.serialOnly() || options.compressionLevel() == 0 ? MazeCompression.NONE : requested;
+                        send(compression.getWireName());
+                    }
+                    case "mazeIfChanged" -> {
+                        // Hashes of every maze the client holds, in memory or on disk
+                        List<String> known = Arrays.asList(String.valueOf(in.readLine()).split(","));
+                        if (known.contains(server.mazeHash())) {
+                            // The client answers "mazeReady", or "maze" if its copy turned out unusable
+                            send("cached " + server.mazeHash());
+                        } else {
+                            send(server.mazeHash());
+                            sendMaze();
+                            joinGame();
+                        }
+                    }
+                    case "resume" -> resume(in.readLine());
+                    case "mazeReady" -> joinGame();
+                    case "node" -> onMove(0, in.readLine());
+                    case "move" -> onMove(-1, in.readLine());
+                    case "heartbeat" -> {
+                        // Echoed only once joined so it cannot interleave with handshake replies
+                        if (player != null) send("heartbeatAck");
+                    }
+                    default -> System.out.println("Stub server: unknown message " + line);
+                }
+            }
+        } catch (IOException e) {
+            if (open) System.out.println("Stub server: connection error " + e.getMessage());
+        } finally {
+            close();
+        }
+    }
+
+    // "new" or "token,lastEvent"; answered "resumed" when the seat is still held, with a new token otherwise
+    private void resume(String request) {
+        if (options.serialOnly() || request == null) {
+            send("none");
+            return;
+        }
+        int comma = request.indexOf(',');
+        if (comma > 0) {
+            PlayerSession previous = server.findSession(request.substring(0, comma));
+            if (previous != null && previous.claim(this)) {
+                resuming = previous;
+                resumeAfter = Long.parseLong(request.substring(comma + 1).trim());
+                send("resumed");
+                return;
+            }
+        }
+        token = server.newToken();
+        send("session " + token);
+    }
+
+    private void joinGame() {
+        if (player != null) return;
+        if (resuming != null) {
+            player = resuming;
+            resuming = null;
+            // Missed events go out after the handshake replies, never in between
+            if (!player.attach(this, resumeAfter)) {
+                player.getGame().sendSnapshot(player);
+            }
+            return;
+        }
+        PlayerSession joined = new PlayerSession(token, this, server, options);
+        if (token != null) server.register(joined);
+        player = joined;
+        joined.setGame(server.join(joined));
+        server.startScriptedEvents(joined);
+    }
+
+    // "(row,col)" for legacy moves, "(seq,row,col)" for sequenced ones
+    private void onMove(int sequence, String payload) {
+        PlayerSession current = player;
+        if (payload == null || current == null) return;
+        String[] parts = payload.substring(1, payload.length() - 1).split(",");
+        int offset = 0;
+        if (sequence < 0) {
+            sequence = Integer.parseInt(parts[0].trim());
+            offset = 1;
+        }
+        current.getGame().move(current, sequence, Integer.parseInt(parts[offset].trim()), Integer.parseInt(parts[offset + 1].trim()));
+    }
+
+    private void sendMaze() throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        if (mazeFormat == MazeFormat.BINARY) {
+            BinaryMazeCodec.write(payload, maze);
+        } else {
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+                oos.writeObject(maze.getGrid().toNodes());
+            }
+            payload.write((Base64.getEncoder().encodeToString(serialized.toByteArray()) + "\n").getBytes(StandardCharsets.US_ASCII));
+        }
+        byte[] bytes = payload.toByteArray();
+        if (compression == MazeCompression.DEFLATE) {
+            long startTime = System.nanoTime();
+            byte[] compressed = DeflateFrameCodec.compress(bytes, options.compressionLevel());
+            System.out.printf("Stub server: %s maze %d bytes deflated to %d at level %d in %.2f ms%n",
+                    mazeFormat.getWireName(), bytes.length, compressed.length, options.compressionLevel(),
+                    (System.nanoTime() - startTime) / 1_000_000.0);
+            bytes = compressed;
+        }
+        sendBytes(bytes);
+    }
+
+    static String position(int row, int col) {
+        return "(" + row + "," + col + ")";
+    }
+
+    void send(String... lines) {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        sendBytes(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void sendBytes(byte[] bytes) {
+        if (!open) return;
+        if (options.latencyMillis() > 0 || options.jitterMillis() > 0) {
+            long jitter = options.jitterMillis() > 0 ? ThreadLocalRandom.current().nextLong(options.jitterMillis() + 1) : 0;
+            synchronized (delayed) {
+                // Jitter must not reorder a TCP stream
+                long due = Math.max(lastDue, System.nanoTime() + (options.latencyMillis() + jitter) * 1_000_000);
+                lastDue = due;
+                delayed.add(new Outbound(bytes, due));
+            }
+            return;
+        }
+        write(bytes);
+    }
+
+    private void writeDelayed() {
+        try {
+            while (open) {
+                write(delayed.take().bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(byte[] bytes) {
+        boolean failed = false;
+        synchronized (this) {
+            try {
+                out.write(bytes);
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+        // Outside the lock: closing detaches the seat, whose lock senders may hold while waiting for ours
+        if (failed) close();
+    }
+
+    void close() {
+        if (!open) return;
+        open = false;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            System.err.println("Stub server: error closing socket " + e.getMessage());
+        }
+        server.remove(this);
+        if (player != null) {
+            player.detach(this);
+        } else if (resuming != null) {
+            resuming.detach(this);
+        }
+    }
+}
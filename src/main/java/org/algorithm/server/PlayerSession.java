@@ -0,0 +1,166 @@
+package org.algorithm.server;
+
+import org.algorithm.client.MoveProtocol;
+
+/**
+ * A player's seat in a {@link GameSession}, outliving the connection that opened it. Clients that
+ * asked for a resumable session get a token and numbered events ("turn 12"); the last events are
+ * kept in a ring buffer, so a client reconnecting within the grace period with its token and last
+ * event number gets the missed ones replayed, or a snapshot of the game when they no longer fit.
+ * Without a token events go out unnumbered and the seat is given up with its connection.
+ */
+class PlayerSession {
+    private final String token;
+    private final StubGameServer server;
+    private final StubServerOptions options;
+    private final String[] events;
+    private long nextSequence = 1;
+    private PlayerConnection connection;
+    // Resuming connection still in its handshake: events are only buffered until it joins
+    private PlayerConnection claimant;
+    private int detachments;
+    private boolean expired;
+    private volatile GameSession game;
+    private volatile MoveProtocol moveProtocol;
+    private int lastMoveSequence;
+
+    PlayerSession(String token, PlayerConnection connection, StubGameServer server, StubServerOptions options) {
+        this.token = token;
+        this.connection = connection;
+        this.server = server;
+        this.options = options;
+        this.events = token == null ? null : new String[options.replayBuffer()];
+        this.moveProtocol = connection.getMoveProtocol();
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    GameSession getGame() {
+        return game;
+    }
+
+    void setGame(GameSession game) {
+        this.game = game;
+    }
+
+    MoveProtocol getMoveProtocol() {
+        return moveProtocol;
+    }
+
+    /** Sequence of the player's last accepted move, for snapshots; guarded by the game. */
+    int getLastMoveSequence() {
+        return lastMoveSequence;
+    }
+
+    void setLastMoveSequence(int sequence) {
+        lastMoveSequence = sequence;
+    }
+
+    synchronized boolean isExpired() {
+        return expired;
+    }
+
+    void sendEvent(String message) {
+        sendEvent(message, null);
+    }
+
+    /** Sends a game event, numbered and buffered in a resumable session. */
+    synchronized void sendEvent(String message, String payload) {
+        if (expired) return;
+        String text;
+        if (events == null) {
+            text = payload == null ? message : message + "\n" + payload;
+        } else {
+            long sequence = nextSequence++;
+            text = message + " " + sequence + (payload == null ? "" : "\n" + payload);
+            events[(int) (sequence % events.length)] = text;
+        }
+        if (connection != null) connection.send(text);
+    }
+
+    /**
+     * Reserves the seat for a connection presenting its token; a connection still holding it is
+     * dropped, the client evidently lost it first. False once the seat expired.
+     */
+    synchronized boolean claim(PlayerConnection resuming) {
+        if (expired) return false;
+        PlayerConnection previous = connection;
+        connection = null;
+        claimant = resuming;
+        detachments++;
+        if (previous != null) previous.close();
+        return true;
+    }
+
+    /**
+     * Hands the seat to the connection that claimed it, once its handshake is over, and replays
+     * the events after {@code lastSeen}. Returns false when they are no longer all buffered and
+     * the caller must send a snapshot instead.
+     */
+    synchronized boolean attach(PlayerConnection resumed, long lastSeen) {
+        if (claimant != resumed) {
+            // Claimed again by another connection in the meantime
+            resumed.close();
+            return true;
+        }
+        claimant = null;
+        connection = resumed;
+        moveProtocol = resumed.getMoveProtocol();
+        long oldest = Math.max(1, nextSequence - events.length);
+        if (lastSeen + 1 < oldest) {
+            System.out.println("Stub server: " + (nextSequence - 1 - lastSeen) + " missed events no longer buffered, sending a snapshot");
+            return false;
+        }
+        long missed = Math.max(0, nextSequence - 1 - lastSeen);
+        System.out.println("Stub server: session resumed, replaying " + missed + " event(s)");
+        for (long sequence = lastSeen + 1; sequence < nextSequence; sequence++) {
+            resumed.send(events[(int) (sequence % events.length)]);
+        }
+        return true;
+    }
+
+    /** The connection is gone: the seat is kept for the grace period if it can be resumed. */
+    void detach(PlayerConnection closed) {
+        int detachment;
+        synchronized (this) {
+            if (claimant == closed) {
+                claimant = null;
+            } else if (connection == closed) {
+                connection = null;
+            } else {
+                return;
+            }
+            detachment = ++detachments;
+            if (token != null && options.resumeGraceSeconds() > 0) {
+                Thread.ofVirtual().name("stub-session-expiry").start(() -> expireLater(detachment));
+                return;
+            }
+            expired = true;
+        }
+        leaveGame();
+    }
+
+    private void expireLater(int detachment) {
+        try {
+            Thread.sleep(options.resumeGraceSeconds() * 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        synchronized (this) {
+            // Resumed, or detached again with a grace period of its own
+            if (expired || detachment != detachments || connection != null || claimant != null) return;
+            expired = true;
+        }
+        leaveGame();
+    }
+
+    // Outside the seat's lock: the game locks itself first, then the seats it sends to
+    private void leaveGame() {
+        GameSession current = game;
+        if (token != null) server.forget(this);
+        if (current != null) current.leave(this);
+    }
+}
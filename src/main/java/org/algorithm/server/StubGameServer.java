@@ -0,0 +1,183 @@
+package org.algorithm.server;
+
+import org.algorithm.client.BinaryMazeCodec;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+import org.algorithm.maze_builder.MoveRules;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Minimal game server speaking the client protocol, for running the visualizer and the bots
+ * without the real backend. Latency, jitter, forced disconnects, synthetic event bursts and
+ * scripted messages are injected from the command line, see {@link StubServerOptions}.
+ */
+public class StubGameServer {
+    private final StubServerOptions options;
+    private final Maze maze;
+    private final String mazeHash;
+    private final List<ScriptedMessage> script;
+    private final Set<PlayerConnection> connections = ConcurrentHashMap.newKeySet();
+    // Resumable sessions by token, until their grace period runs out
+    private final Map<String, PlayerSession> sessions = new ConcurrentHashMap<>();
+    private GameSession waiting;
+
+    /** One line of a script file: "delayMs message [payload]". */
+    private record ScriptedMessage(long delayMillis, String message, String payload) {
+    }
+
+    public StubGameServer(StubServerOptions options) throws IOException {
+        this.options = options;
+        this.maze = MazeGenerator.generate(options.rows(), options.cols(), options.theme(), options.seed());
+        this.mazeHash = BinaryMazeCodec.contentHash(maze);
+        this.script = options.script() == null ? List.of() : readScript(options);
+    }
+
+    public static void main(String[] args) throws IOException {
+        new StubGameServer(StubServerOptions.parse(args)).serve();
+    }
+
+    public void serve() throws IOException {
+        if (options.disconnectEverySeconds() > 0) {
+            Thread.ofVirtual().name("stub-disconnects").start(this::injectDisconnects);
+        }
+        try (ServerSocket serverSocket = new ServerSocket(options.port())) {
+            System.out.println("Stub server listening on port " + options.port() + " (" + options.rows() + "x"
+                    + options.cols() + ", " + options.players() + " player(s) per game)");
+            while (!Thread.currentThread().isInterrupted()) {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                PlayerConnection connection = new PlayerConnection(socket, this, options, maze);
+                connections.add(connection);
+                Thread.ofVirtual().name("stub-player").start(connection);
+            }
+        }
+    }
+
+    /** Puts the player in the game waiting for players, opening a new one when it is full. */
+    synchronized GameSession join(PlayerSession player) {
+        if (waiting == null || waiting.isFull()) {
+            waiting = new GameSession(maze, options.players());
+        }
+        GameSession session = waiting;
+        session.join(player);
+        return session;
+    }
+
+    String mazeHash() {
+        return mazeHash;
+    }
+
+    void remove(PlayerConnection player) {
+        connections.remove(player);
+    }
+
+    String newToken() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    PlayerSession findSession(String token) {
+        return sessions.get(token);
+    }
+
+    void register(PlayerSession session) {
+        sessions.put(session.getToken(), session);
+    }
+
+    void forget(PlayerSession session) {
+        sessions.remove(session.getToken(), session);
+    }
+
+    /**
+     * Starts the script replay and the synthetic event stream for a player that has the maze.
+     * They follow the seat rather than the socket, so a resumed player gets what it missed.
+     */
+    void startScriptedEvents(PlayerSession player) {
+        if (!script.isEmpty()) {
+            Thread.ofVirtual().name("stub-script").start(() -> replayScript(player));
+        }
+        if (options.eventRate() > 0) {
+            Thread.ofVirtual().name("stub-events").start(() -> emitEvents(player));
+        }
+    }
+
+    private void replayScript(PlayerSession player) {
+        try {
+            for (ScriptedMessage step : script) {
+                Thread.sleep(step.delayMillis());
+                if (player.isExpired()) return;
+                player.sendEvent(step.message(), step.payload());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A phantom opponent wandering the maze at the requested rate
+    private void emitEvents(PlayerSession player) {
+        MazeGrid grid = maze.getGrid();
+        long periodNanos = (long) (1_000_000_000L / options.eventRate());
+        int row = maze.getStart().getRow();
+        int col = maze.getStart().getColumn();
+        int score = 0;
+        long next = System.nanoTime();
+        try {
+            while (!player.isExpired()) {
+                int direction = ThreadLocalRandom.current().nextInt(MoveRules.DELTA_ROW.length);
+                int nextRow = row + MoveRules.DELTA_ROW[direction];
+                int nextCol = col + MoveRules.DELTA_COL[direction];
+                if (!MoveRules.isValidMove(grid, row, col, nextRow, nextCol)) continue;
+                row = nextRow;
+                col = nextCol;
+                player.sendEvent("node", PlayerConnection.position(row, col));
+                player.sendEvent("otherScore", String.valueOf(++score));
+                next += periodNanos;
+                long sleepNanos = next - System.nanoTime();
+                if (sleepNanos > 0) {
+                    Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void injectDisconnects() {
+        try {
+            while (true) {
+                Thread.sleep(options.disconnectEverySeconds() * 1000);
+                List<PlayerConnection> open = new ArrayList<>(connections);
+                if (open.isEmpty()) continue;
+                PlayerConnection victim = open.get(ThreadLocalRandom.current().nextInt(open.size()));
+                System.out.println("Stub server: dropping a connection (" + open.size() + " open)");
+                victim.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<ScriptedMessage> readScript(StubServerOptions options) throws IOException {
+        List<ScriptedMessage> steps = new ArrayList<>();
+        for (String line : Files.readAllLines(options.script())) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+            String[] parts = trimmed.split("\\s+", 3);
+            if (parts.length < 2) {
+                throw new IOException("Bad script line: " + line);
+            }
+            steps.add(new ScriptedMessage(Long.parseLong(parts[0]), parts[1], parts.length == 3 ? parts[2] : null));
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,83 @@
+package org.algorithm.server;
+
+import java.nio.file.Path;
+
+/**
+ * Command line options of {@link StubGameServer}, all optional:
+ * <pre>
+ * --port 5000            listening port
+ * --rows 10 --cols 10    maze size
+ * --theme animals        theme sent to clients
+ * --seed 42              maze seed
+ * --players 2            players per game; 1 gives every client its own game and the turn after every move
+ * --latency-ms 0         delay added to every message sent
+ * --jitter-ms 0          random extra delay, 0..jitter
+ * --disconnect-every-s 0 drop one random connection every N seconds
+ * --event-rate 0         synthetic opponent moves and scores per second, per connection
+ * --script file          replay "delayMs message [payload]" lines to every client after the maze
+ * --compression-level 6 deflate level used when a client asks for compression, 0 refuses it
+ * --resume-grace-s 30    how long the seat of a dropped resumable session waits for its client, 0 gives it up at once
+ * --replay-buffer 256    events kept per resumable session for replay after a reconnect
+ * --serial-only          leave the extensions probe unanswered and refuse the binary maze, sequenced move
+ *                        and resumable session negotiations (old server)
+ * </pre>
+ */
+public record StubServerOptions(int port, int rows, int cols, String theme, long seed, int players,
+                                long latencyMillis, long jitterMillis, long disconnectEverySeconds,
+                                double eventRate, Path script, int compressionLevel, long resumeGraceSeconds,
+                                int replayBuffer, boolean serialOnly) {
+
+    public static StubServerOptions parse(String[] args) {
+        int port = 5000;
+        int rows = 10;
+        int cols = 10;
+        String theme = "animals";
+        long seed = 42;
+        int players = 2;
+        long latencyMillis = 0;
+        long jitterMillis = 0;
+        long disconnectEverySeconds = 0;
+        double eventRate = 0;
+        Path script = null;
+        int compressionLevel = 6;
+        long resumeGraceSeconds = 30;
+        int replayBuffer = 256;
+        boolean serialOnly = false;
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (name.equals("--serial-only")) {
+                serialOnly = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--port" -> port = Integer.parseInt(value);
+                case "--rows" -> rows = Integer.parseInt(value);
+                case "--cols" -> cols = Integer.parseInt(value);
+                case "--theme" -> theme = value;
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--players" -> players = Integer.parseInt(value);
+                case "--latency-ms" -> latencyMillis = Long.parseLong(value);
+                case "--jitter-ms" -> jitterMillis = Long.parseLong(value);
+                case "--disconnect-every-s" -> disconnectEverySeconds = Long.parseLong(value);
+                case "--event-rate" -> eventRate = Double.parseDouble(value);
+                case "--script" -> script = Path.of(value);
+                case "--compression-level" -> compressionLevel = Integer.parseInt(value);
+                case "--resume-grace-s" -> resumeGraceSeconds = Long.parseLong(value);
+                case "--replay-buffer" -> replayBuffer = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        if (rows <= 0 || cols <= 0 || players <= 0 || replayBuffer <= 0) {
+            throw new IllegalArgumentException("rows, cols, players and replay buffer must be positive");
+        }
+        if (compressionLevel < 0 || compressionLevel > 9) {
+            throw new IllegalArgumentException("compression level must be between 0 and 9");
+        }
+        return new StubServerOptions(port, rows, cols, theme, seed, players, latencyMillis, jitterMillis,
+                disconnectEverySeconds, eventRate, script, compressionLevel, resumeGraceSeconds, replayBuffer, serialOnly);
+    }
+}
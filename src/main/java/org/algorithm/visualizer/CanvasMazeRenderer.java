@@ -0,0 +1,171 @@
+package org.algorithm.visualizer;
+
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.MazeGrid;
+
+import java.util.ArrayDeque;
+
+import static org.algorithm.visualizer.MazeVisualizer.CELL_SIZE;
+
+/**
+ * Immediate mode renderer: the static maze is painted into canvas tiles.
+ * Tiles keep each canvas texture well below the GPU size limits on large mazes.
+ * Only tiles touching the visible region are painted; a tile scrolled out of view is
+ * recycled for the next one scrolled in.
+ */
+class CanvasMazeRenderer implements MazeRenderer {
+    private static final int TILE_CELLS = 32;
+    private static final Font VALUE_FONT = Font.font("Arial", FontWeight.EXTRA_BOLD, 20);
+    private static final DropShadow WALL_GLOW = new DropShadow(BlurType.GAUSSIAN, Color.web("#0000FF"), 5, 0.5, 0, 0);
+
+    private Group staticLayer;
+    private Canvas[][] staticTiles;
+    private final ArrayDeque<Canvas> freeStaticTiles = new ArrayDeque<>();
+    private MazeGrid maze;
+    private Node startNode;
+    private Node endNode;
+    // Visible tile range, last row and column exclusive
+    private int firstTileRow;
+    private int firstTileCol;
+    private int lastTileRow;
+    private int lastTileCol;
+    private int rows;
+    private int cols;
+
+    @Override
+    public void render(Pane mazePane, MazeGrid maze, Node startNode, Node endNode) {
+        this.maze = maze;
+        this.startNode = startNode;
+        this.endNode = endNode;
+        rows = maze.getRows();
+        cols = maze.getCols();
+        mazePane.getChildren().clear();
+
+        int tileRows = (rows + TILE_CELLS - 1) / TILE_CELLS;
+        int tileCols = (cols + TILE_CELLS - 1) / TILE_CELLS;
+        staticLayer = new Group();
+        staticTiles = new Canvas[tileRows][tileCols];
+        freeStaticTiles.clear();
+        firstTileRow = firstTileCol = lastTileRow = lastTileCol = 0;
+        mazePane.getChildren().add(staticLayer);
+    }
+
+    @Override
+    public void setVisibleRegion(int firstRow, int firstCol, int lastRow, int lastCol) {
+        int newFirstTileRow = firstRow / TILE_CELLS;
+        int newFirstTileCol = firstCol / TILE_CELLS;
+        int newLastTileRow = (lastRow + TILE_CELLS - 1) / TILE_CELLS;
+        int newLastTileCol = (lastCol + TILE_CELLS - 1) / TILE_CELLS;
+        for (int ty = firstTileRow; ty < lastTileRow; ty++) {
+            for (int tx = firstTileCol; tx < lastTileCol; tx++) {
+                if (ty >= newFirstTileRow && ty < newLastTileRow && tx >= newFirstTileCol && tx < newLastTileCol) continue;
+                release(staticTiles, freeStaticTiles, ty, tx);
+            }
+        }
+        firstTileRow = newFirstTileRow;
+        firstTileCol = newFirstTileCol;
+        lastTileRow = newLastTileRow;
+        lastTileCol = newLastTileCol;
+        for (int ty = firstTileRow; ty < lastTileRow; ty++) {
+            for (int tx = firstTileCol; tx < lastTileCol; tx++) {
+                if (staticTiles[ty][tx] == null) {
+                    staticTiles[ty][tx] = paintTile(take(freeStaticTiles, staticLayer), ty * TILE_CELLS, tx * TILE_CELLS);
+                }
+            }
+        }
+    }
+
+    private static void release(Canvas[][] tiles, ArrayDeque<Canvas> free, int ty, int tx) {
+        Canvas tile = tiles[ty][tx];
+        if (tile != null) {
+            tile.setVisible(false);
+            free.push(tile);
+            tiles[ty][tx] = null;
+        }
+    }
+
+    private static Canvas take(ArrayDeque<Canvas> free, Group layer) {
+        Canvas tile = free.poll();
+        if (tile == null) {
+            tile = new Canvas();
+            layer.getChildren().add(tile);
+        }
+        tile.setVisible(true);
+        return tile;
+    }
+
+    private Canvas paintTile(Canvas canvas, int firstRow, int firstCol) {
+        int lastRow = Math.min(firstRow + TILE_CELLS, rows);
+        int lastCol = Math.min(firstCol + TILE_CELLS, cols);
+        // Two pixels of slack on each side so walls on the tile edge are not cut in half
+        canvas.setWidth((lastCol - firstCol) * CELL_SIZE + 4);
+        canvas.setHeight((lastRow - firstRow) * CELL_SIZE + 4);
+        canvas.setLayoutX(firstCol * CELL_SIZE - 2);
+        canvas.setLayoutY(firstRow * CELL_SIZE - 2);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        gc.translate(2 - firstCol * CELL_SIZE, 2 - firstRow * CELL_SIZE);
+
+        // All walls of the tile go into one path so the glow is computed once per tile;
+        // shared walls appear once and collinear ones are merged into a single segment
+        int[] runs = WallGeometry.runs(maze, firstRow, firstCol, lastRow, lastCol);
+        gc.beginPath();
+        for (int i = 0; i < runs.length; i += 4) {
+            addSegment(gc, runs[i + 1] * CELL_SIZE, runs[i] * CELL_SIZE, runs[i + 3] * CELL_SIZE, runs[i + 2] * CELL_SIZE);
+        }
+        gc.setStroke(MazeVisualizer.WALL_COLOR);
+        gc.setLineWidth(3);
+        gc.setEffect(WALL_GLOW);
+        gc.stroke();
+        gc.setEffect(null);
+
+        gc.setFont(VALUE_FONT);
+        gc.setFill(MazeVisualizer.TEXT_COLOR);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int y = firstRow; y < lastRow; y++) {
+            for (int x = firstCol; x < lastCol; x++) {
+                gc.fillText(String.valueOf(maze.getValue(y, x)), x * CELL_SIZE + CELL_SIZE / 2.0, y * CELL_SIZE + CELL_SIZE / 2.0);
+            }
+        }
+
+        if (startNode != null && endNode != null) {
+            paintSpecialCell(gc, startNode, firstRow, firstCol, lastRow, lastCol, "#FFD700");
+            paintSpecialCell(gc, endNode, firstRow, firstCol, lastRow, lastCol, "#FF0000");
+        }
+        return canvas;
+    }
+
+    private static void addSegment(GraphicsContext gc, double startX, double startY, double endX, double endY) {
+        gc.moveTo(startX, startY);
+        gc.lineTo(endX, endY);
+    }
+
+    private static void paintSpecialCell(GraphicsContext gc, Node node, int firstRow, int firstCol,
+                                         int lastRow, int lastCol, String color) {
+        int row = node.getRow();
+        int col = node.getColumn();
+        if (row < firstRow || row >= lastRow || col < firstCol || col >= lastCol) return;
+        double x = col * CELL_SIZE + 2;
+        double y = row * CELL_SIZE + 2;
+        gc.setEffect(new DropShadow(BlurType.GAUSSIAN, Color.web(color), 10, 0.5, 0, 0));
+        gc.setFill(Color.web(color + "40"));
+        gc.fillRoundRect(x, y, CELL_SIZE - 4, CELL_SIZE - 4, 10, 10);
+        gc.setStroke(Color.web(color));
+        gc.setLineWidth(3);
+        gc.strokeRoundRect(x, y, CELL_SIZE - 4, CELL_SIZE - 4, 10, 10);
+        gc.setEffect(null);
+    }
+}
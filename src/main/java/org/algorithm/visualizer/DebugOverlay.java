@@ -0,0 +1,72 @@
+package org.algorithm.visualizer;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+import org.algorithm.client.ClientMetrics;
+
+/**
+ * Corner overlay with the client telemetry and the UI mailbox counters, toggled with F3. Pulse interval and layout time are
+ * fed to {@link ClientMetrics} whether or not the overlay is shown, so JMX sees them too; the
+ * text itself is only refreshed twice a second while visible.
+ * Shown from the start with -Dmaze.debugOverlay=true.
+ */
+class DebugOverlay {
+    private final ClientMetrics metrics = ClientMetrics.shared();
+    private final UiUpdateMailbox mailbox;
+    private final Label label = new Label();
+    private final Timeline refresh = new Timeline(new KeyFrame(Duration.millis(500), e -> update()));
+    private long layoutStart;
+
+    DebugOverlay(UiUpdateMailbox mailbox) {
+        this.mailbox = mailbox;
+        label.setFont(Font.font("Monospaced", 12));
+        label.setTextFill(MazeVisualizer.TEXT_COLOR);
+        label.setStyle("-fx-background-color: #000000B0;");
+        label.setPadding(new Insets(6));
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        StackPane.setAlignment(label, Pos.TOP_LEFT);
+        refresh.setCycleCount(Animation.INDEFINITE);
+    }
+
+    /** Adds the overlay over the maze and starts timing the scene's pulses. */
+    void install(StackPane container, Scene scene) {
+        container.getChildren().add(label);
+        new AnimationTimer() {
+            private long lastPulse;
+
+            @Override
+            public void handle(long now) {
+                if (lastPulse != 0) metrics.pulseInterval(now - lastPulse);
+                lastPulse = now;
+            }
+        }.start();
+        scene.addPreLayoutPulseListener(() -> layoutStart = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> metrics.layoutPass(System.nanoTime() - layoutStart));
+        if (Boolean.getBoolean("maze.debugOverlay")) toggle();
+    }
+
+    void toggle() {
+        boolean show = !label.isVisible();
+        label.setVisible(show);
+        if (show) {
+            update();
+            refresh.play();
+        } else {
+            refresh.stop();
+        }
+    }
+
+    private void update() {
+        label.setText(metrics.summary() + "\n" + mailbox.report());
+    }
+}
@@ -0,0 +1,43 @@
+package org.algorithm.visualizer;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Logs average and worst frame interval every few seconds, used to compare renderers.
+ * Enabled with -Dmaze.frameStats=true.
+ */
+class FrameTimeLogger extends AnimationTimer {
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+
+    private final String label;
+    private long lastFrame;
+    private long windowStart;
+    private long worstFrame;
+    private int frames;
+
+    FrameTimeLogger(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public void handle(long now) {
+        if (lastFrame == 0) {
+            lastFrame = now;
+            windowStart = now;
+            return;
+        }
+        long frameTime = now - lastFrame;
+        lastFrame = now;
+        worstFrame = Math.max(worstFrame, frameTime);
+        frames++;
+
+        if (now - windowStart >= REPORT_INTERVAL_NANOS) {
+            double averageMillis = (now - windowStart) / 1_000_000.0 / frames;
+            System.out.printf("[%s] %d frames, avg %.2f ms, worst %.2f ms%n",
+                    label, frames, averageMillis, worstFrame / 1_000_000.0);
+            windowStart = now;
+            worstFrame = 0;
+            frames = 0;
+        }
+    }
+}
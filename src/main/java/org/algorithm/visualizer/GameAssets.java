@@ -0,0 +1,42 @@
+package org.algorithm.visualizer;
+
+import javafx.scene.media.AudioClip;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Sounds and the arcade font, each loaded on its own virtual thread as soon as the application
+ * starts, so they are ready while the client is still connecting. Nothing here touches the scene
+ * graph; the futures complete off the FX thread.
+ */
+class GameAssets {
+    static final Executor LOADER = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long startNanos = System.nanoTime();
+    final CompletableFuture<AudioClip> wakawaka = sound("wakawaka.wav");
+    final CompletableFuture<AudioClip> death = sound("death.wav");
+    final CompletableFuture<AudioClip> gameStart = sound("game_start.wav");
+    final CompletableFuture<AudioClip> victory = sound("victory.wav");
+    final CompletableFuture<AudioClip> bonus = sound("bonus.wav");
+    final CompletableFuture<Font> arcadeFont = CompletableFuture.supplyAsync(() -> Font.font("Arial", FontWeight.BOLD, 16), LOADER);
+    private final CompletableFuture<Void> all = CompletableFuture.allOf(wakawaka, death, gameStart, victory, bonus, arcadeFont)
+            .thenRun(() -> System.out.printf("Preloaded sounds and font in %.0f ms%n", (System.nanoTime() - startNanos) / 1_000_000.0));
+
+    /** Completes once every sound and the font are loaded. */
+    CompletableFuture<Void> loaded() {
+        return all;
+    }
+
+    private static CompletableFuture<AudioClip> sound(String name) {
+        return CompletableFuture.supplyAsync(() -> {
+            var url = GameAssets.class.getResource("/sounds/" + name);
+            if (url == null) throw new CompletionException(new IllegalStateException("Missing sound " + name));
+            return new AudioClip(url.toExternalForm());
+        }, LOADER);
+    }
+}
@@ -0,0 +1,34 @@
+package org.algorithm.visualizer;
+
+import javafx.scene.layout.Pane;
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.MazeGrid;
+
+/**
+ * Draws the static maze into the maze pane.
+ * Trails and player sprites are owned by MazeVisualizer and stay on top of whatever the renderer adds.
+ */
+interface MazeRenderer {
+
+    /** Clears the pane and draws walls, letters and the start/end cells. */
+    void render(Pane mazePane, MazeGrid maze, Node startNode, Node endNode);
+
+    /**
+     * Cells the viewport shows, last row and column exclusive. Only these need to exist
+     * as nodes or painted pixels; called after render and whenever the view moves.
+     */
+    void setVisibleRegion(int firstRow, int firstCol, int lastRow, int lastCol);
+
+    /** Picks the backend from -Dmaze.renderer (scene or canvas). */
+    static MazeRenderer create() {
+        String name = System.getProperty("maze.renderer", "scene");
+        return switch (name.toLowerCase()) {
+            case "canvas" -> new CanvasMazeRenderer();
+            case "scene" -> new SceneGraphMazeRenderer();
+            default -> {
+                System.err.println("Unknown renderer '" + name + "', using scene graph renderer");
+                yield new SceneGraphMazeRenderer();
+            }
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package org.algorithm.visualizer;
+
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
+
+import static org.algorithm.visualizer.MazeVisualizer.CELL_SIZE;
+
+/**
+ * Clipped window onto the maze pane with zoom (mouse wheel, + and -) and pan (drag). The maze pane
+ * keeps maze coordinates; only a scale and a translation change. The view follows the player until
+ * the user drags it, and the next move snaps it back. Whenever the visible cells change, the
+ * renderer is told which ones to materialize, so its work depends on the window size and not the
+ * maze size.
+ */
+class MazeViewport extends Pane {
+    static final double MIN_ZOOM = 0.25;
+    static final double MAX_ZOOM = 3;
+    private static final double ZOOM_STEP = 1.15;
+    // Cells materialized around the visible ones, so small moves do not create anything
+    private static final int MARGIN_CELLS = 2;
+
+    /** Receives the cells to materialize, last row and column exclusive. */
+    interface RegionListener {
+        void onVisibleRegion(int firstRow, int firstCol, int lastRow, int lastCol);
+    }
+
+    private final Pane content;
+    private final Scale scale = new Scale(1, 1, 0, 0);
+    private final Translate translate = new Translate();
+    private final Rectangle clip = new Rectangle();
+    private RegionListener listener;
+    private int rows;
+    private int cols;
+    private double zoom = 1;
+    // Top-left corner of the view in maze pixels
+    private double viewX;
+    private double viewY;
+    private boolean following = true;
+    private int focusRow;
+    private int focusCol;
+    private double dragX;
+    private double dragY;
+    private int firstRow = -1;
+    private int firstCol = -1;
+    private int lastRow = -1;
+    private int lastCol = -1;
+
+    MazeViewport(Pane content) {
+        this.content = content;
+        content.getTransforms().setAll(scale, translate);
+        content.setManaged(false);
+        getChildren().add(content);
+        setClip(clip);
+        setMinSize(0, 0);
+
+        widthProperty().addListener((obs, old, width) -> update());
+        heightProperty().addListener((obs, old, height) -> update());
+        addEventHandler(ScrollEvent.SCROLL, event -> {
+            if (event.getDeltaY() != 0) {
+                zoomAt(event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP, event.getX(), event.getY());
+            }
+            event.consume();
+        });
+        addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+            following = false;
+            viewX -= (event.getX() - dragX) / zoom;
+            viewY -= (event.getY() - dragY) / zoom;
+            dragX = event.getX();
+            dragY = event.getY();
+            update();
+        });
+    }
+
+    void setRegionListener(RegionListener listener) {
+        this.listener = listener;
+    }
+
+    /** New maze: resets the view and re-sends the visible region even if it did not move. */
+    void setMaze(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        content.resize(cols * CELL_SIZE, rows * CELL_SIZE);
+        following = true;
+        firstRow = -1;
+        update();
+    }
+
+    /** Centres the view on the player, unless the user panned away and has not moved since. */
+    void follow(int row, int col, boolean resume) {
+        focusRow = row;
+        focusCol = col;
+        if (resume) following = true;
+        if (following) update();
+    }
+
+    /** Zooms around the centre of the view. */
+    void zoom(double factor) {
+        zoomAt(factor, getWidth() / 2, getHeight() / 2);
+    }
+
+    private void zoomAt(double factor, double x, double y) {
+        double next = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+        // Keep the maze point under (x, y) in place
+        viewX += x / zoom - x / next;
+        viewY += y / zoom - y / next;
+        zoom = next;
+        update();
+    }
+
+    private void update() {
+        double width = getWidth();
+        double height = getHeight();
+        if (width <= 0 || height <= 0 || rows == 0) return;
+        double viewWidth = width / zoom;
+        double viewHeight = height / zoom;
+        if (following) {
+            viewX = (focusCol + 0.5) * CELL_SIZE - viewWidth / 2;
+            viewY = (focusRow + 0.5) * CELL_SIZE - viewHeight / 2;
+        }
+        viewX = clampView(viewX, viewWidth, cols * CELL_SIZE);
+        viewY = clampView(viewY, viewHeight, rows * CELL_SIZE);
+
+        clip.setWidth(width);
+        clip.setHeight(height);
+        scale.setX(zoom);
+        scale.setY(zoom);
+        translate.setX(-viewX);
+        translate.setY(-viewY);
+
+        int newFirstRow = Math.max(0, (int) Math.floor(viewY / CELL_SIZE) - MARGIN_CELLS);
+        int newFirstCol = Math.max(0, (int) Math.floor(viewX / CELL_SIZE) - MARGIN_CELLS);
+        int newLastRow = Math.min(rows, (int) Math.ceil((viewY + viewHeight) / CELL_SIZE) + MARGIN_CELLS);
+        int newLastCol = Math.min(cols, (int) Math.ceil((viewX + viewWidth) / CELL_SIZE) + MARGIN_CELLS);
+        if (newFirstRow != firstRow || newFirstCol != firstCol || newLastRow != lastRow || newLastCol != lastCol) {
+            firstRow = newFirstRow;
+            firstCol = newFirstCol;
+            lastRow = newLastRow;
+            lastCol = newLastCol;
+            if (listener != null) listener.onVisibleRegion(firstRow, firstCol, lastRow, lastCol);
+        }
+    }
+
+    // A maze smaller than the view is centred, a larger one never shows past its edges
+    private static double clampView(double position, double viewSize, double mazeSize) {
+        if (mazeSize <= viewSize) return (mazeSize - viewSize) / 2;
+        return Math.max(0, Math.min(mazeSize - viewSize, position));
+    }
+}
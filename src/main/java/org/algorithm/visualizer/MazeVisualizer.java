@@ -6,15 +6,20 @@
     import javafx.application.Application;
     import javafx.application.Platform;
     import javafx.beans.binding.Bindings;
+    import javafx.beans.property.BooleanProperty;
+    import javafx.beans.property.ReadOnlyBooleanProperty;
+    import javafx.beans.property.SimpleBooleanProperty;
     import javafx.beans.property.SimpleStringProperty;
     import javafx.beans.property.StringProperty;
     import javafx.geometry.Insets;
     import javafx.geometry.Pos;
+    import javafx.geometry.Rectangle2D;
     import javafx.scene.Scene;
     import javafx.scene.media.AudioClip;
     import javafx.scene.control.Button;
     import javafx.scene.control.Label;
     import javafx.scene.image.Image;
+    import javafx.scene.input.KeyCode;
     import javafx.scene.input.KeyEvent;
     import javafx.scene.layout.*;
     import javafx.scene.paint.Color;
@@ -22,22 +27,37 @@
     import javafx.scene.shape.*;
     import javafx.scene.text.Font;
     import javafx.scene.text.FontWeight;
+    import javafx.stage.Screen;
     import javafx.stage.Stage;
     import javafx.stage.StageStyle;
     import javafx.util.Duration;
-    import org.algorithm.client.Client;
+    import org.algorithm.client.ConnectionState;
+    import org.algorithm.client.GameClient;
+    import org.algorithm.client.MoveReconciler;
     import org.algorithm.components.Node;
+    import org.algorithm.maze_builder.MazeGrid;
+    import org.algorithm.maze_builder.MoveRules;
+    import org.algorithm.maze_builder.WordIndex;
+    import org.algorithm.maze_builder.WordTrail;
+
+    import java.util.ArrayDeque;
+    import java.util.Arrays;
+    import java.util.concurrent.CompletableFuture;
 
     public class MazeVisualizer extends Application {
         private static volatile MazeVisualizer instance;
         private static final Object LOCK = new Object();
 
-        private static final int CELL_SIZE = 50;
+        static final int CELL_SIZE = 50;
         private static final int TURN_TIME = 20; // 15 seconds per turn
 
         public static int MAZE_WIDTH;
         public static int MAZE_HEIGHT;
-        public static Node[][] maze;
+        public static volatile MazeGrid maze;
+        // Completed by the client thread with the first maze, the game screen replaces the lobby then;
+        // later mazes (a reconnect to a server with another board) are re-rendered in place
+        private static final CompletableFuture<MazeGrid> MAZE_READY = new CompletableFuture<>();
+        private static volatile boolean connectedOnce;
 
         private static Pane mazePane;
         private Arc player;
@@ -46,12 +66,15 @@
         private int playerCol;
         public static Node startNode;
         public static Node endNode;
-        private Rectangle[][] cellRectangles;
-        private static Button[] controlButtons;
-        private Client client;
-        static public volatile Boolean turn;
+        private Button[] controlButtons;
+        private GameClient client;
+        // Only touched on the FX thread; the control buttons are bound to it
+        private static final BooleanProperty turn = new SimpleBooleanProperty(false);
+        private static final UiUpdateMailbox MAILBOX = new UiUpdateMailbox();
 
         public static final StringProperty themeProperty = new SimpleStringProperty("");
+        private static final StringProperty connectionProperty = new SimpleStringProperty("");
+        private MazeViewport viewport;
         private Label timeLabel;
         private Label scoreLabel;
         private Label opponentScoreLabel;
@@ -61,15 +84,26 @@
         private javax.swing.Timer timer;
         private boolean isGameActive = true;
         private static final Color BACKGROUND_COLOR = Color.web("#000000");
-        private static final Color WALL_COLOR = Color.web("#2121DE");
+        static final Color WALL_COLOR = Color.web("#2121DE");
         private static final Color PLAYER_COLOR = Color.web("#FFFF00");
         private static final Color OPPONENT_COLOR = Color.web("#FF0000");
-        private static final Color PLAYER_PATH_COLOR = Color.web("#FFFF0040");
-        private static final Color OPPONENT_PATH_COLOR = Color.web("#FF000040");
-        private static final Color TEXT_COLOR = Color.web("#FFFFFF");
+        static final Color PLAYER_PATH_COLOR = Color.web("#FFFF0040");
+        static final Color OPPONENT_PATH_COLOR = Color.web("#FF000040");
+        static final Color WORD_COLOR = Color.web("#00FF0060");
+        static final Color TEXT_COLOR = Color.web("#FFFFFF");
+        private static final Color LEGAL_MOVE_COLOR = Color.web("#FFFF0080");
         private static final int PLAYER_SIZE = CELL_SIZE*2 / 5;
-        private Rectangle[][] playerPathCells;
-        private Rectangle[][] opponentPathCells;
+        private MazeRenderer renderer;
+        private UiUpdateMailbox.Sink mailboxSink;
+        private final MoveReconciler reconciler = new MoveReconciler(this::isValidMove);
+        private final Circle[] legalMoveMarkers = new Circle[MoveRules.DELTA_ROW.length];
+        private final TrailOverlay trails = new TrailOverlay();
+        // Trail cells first marked by moves still in flight, undone if the server rejects them
+        private final ArrayDeque<TrailMark> predictedTrail = new ArrayDeque<>();
+        private WordTrail wordTrail;
+        private final PathOverlay pathOverlay =
+                Boolean.parseBoolean(System.getProperty("maze.paths", "true")) ? new PathOverlay() : null;
+        private final DebugOverlay debugOverlay = new DebugOverlay(MAILBOX);
         private Arc pacmanArc;
         private Timeline pacmanAnimation;
         private AudioClip wakawaka;
@@ -78,6 +112,9 @@
         private AudioClip victory;
         private static AudioClip bonus ;
         private boolean mouthOpen = true;
+        private GameAssets assets;
+        private final ThemeImageCache themes = new ThemeImageCache();
+        private final StartupTimer startup = new StartupTimer();
 
         public static MazeVisualizer getInstance() {
             MazeVisualizer result = instance;
@@ -101,26 +138,40 @@
                 }
             }
 
-            client = new Client("localhost", 5000);
-            turn = false;
+            // Sounds and font load while the client connects, the lobby shows in the meantime
+            assets = new GameAssets();
+            themes.prefetchLastGame();
+            client = GameClient.create("localhost", 5000, new VisualizerGameListener());
             timeRemaining = TURN_TIME;
             initializeTimer();
 
-            new Thread(() -> {
-                client.run();
-                monitorTurnChanges();
-            }).start();
+            new Thread(client).start();
+            initializePacmanAnimation();
+        }
 
-            while (maze == null) {
-                Thread.sleep(1000);
-                System.out.println("Waiting for other player!");
+        /** Called by the client thread once the maze and its start, end and theme are known. */
+        static void mazeLoaded(MazeGrid grid) {
+            MazeGrid previous = maze;
+            maze = grid;
+            if (!MAZE_READY.complete(grid) && !sameCells(previous, grid)) {
+                // Moves are validated against the new grid from now on, the board must show it too
+                Platform.runLater(() -> {
+                    MazeVisualizer viz = instance;
+                    // Before the game screen is built there is nothing to replace, it renders the latest maze
+                    if (viz != null && viz.renderer != null) viz.showNewMaze();
+                });
             }
-            wakawaka = new AudioClip(getClass().getResource("/sounds/wakawaka.wav").toExternalForm());
-            death = new AudioClip(getClass().getResource("/sounds/death.wav").toExternalForm());
-            gameStart = new AudioClip(getClass().getResource("/sounds/game_start.wav").toExternalForm());
-            victory = new AudioClip(getClass().getResource("/sounds/victory.wav").toExternalForm());
-            bonus=new AudioClip(getClass().getResource("/sounds/bonus.wav").toExternalForm());
-            initializePacmanAnimation();
+        }
+
+        private static boolean sameCells(MazeGrid a, MazeGrid b) {
+            return a != null && b != null && a.getRows() == b.getRows() && a.getCols() == b.getCols()
+                    && Arrays.equals(a.borderArray(), b.borderArray()) && Arrays.equals(a.valueArray(), b.valueArray());
+        }
+
+        private void showNewMaze() {
+            System.out.println("Server sent a different maze, rebuilding the board");
+            regenerateMaze();
+            refreshBackground(themeProperty.get());
         }
         private void initializePacmanAnimation() {
             pacmanArc = new Arc(0, 0, PLAYER_SIZE, PLAYER_SIZE, 45, 270);
@@ -160,45 +211,47 @@
         }
 
 
+        // Called from the network thread; values are coalesced and applied on the next pulse
         public static void handleTurnChange(boolean isPlayerTurn) {
-            Platform.runLater(() -> {
-                MazeVisualizer viz = getInstance();
-                if (viz != null && viz.isGameActive) {
-                    turn = isPlayerTurn;
-                    viz.timeRemaining = TURN_TIME;
-                    viz.updateTimeLabel();
-                    updateButtonStates(isPlayerTurn);
-                }
-            });
+            MAILBOX.postTurn(isPlayerTurn);
         }
 
         public static void updateScore(int score) {
-            Platform.runLater(() -> {
-                MazeVisualizer viz = getInstance();
-                if (viz != null && viz.isGameActive) {
-
-                    if (viz.currentScore != score) {
-                        bonus.play();
-                        viz.currentScore = score;
-                        viz.updateScoreLabels();
-                    }
-                }
-            });
+            MAILBOX.postScore(score);
         }
 
 
         public static void updateOpponentScore(int score) {
-            Platform.runLater(() -> {
-                MazeVisualizer viz = getInstance();
-                if (viz != null && viz.isGameActive) {
+            MAILBOX.postOpponentScore(score);
+        }
 
-                    if (viz.opponentScore != score) {
-                        bonus.play();
-                        viz.opponentScore = score;
-                        viz.updateScoreLabels();
-                    }
-                }
-            });
+        public static void handleMoveAck(int sequence, int row, int col, int score) {
+            MAILBOX.postMoveAck(sequence, row, col);
+            MAILBOX.postScore(score);
+        }
+
+        private void applyTurn(boolean isPlayerTurn) {
+            if (isGameActive) {
+                turn.set(isPlayerTurn);
+                timeRemaining = TURN_TIME;
+                updateTimeLabel();
+            }
+        }
+
+        private void applyScore(int score) {
+            if (isGameActive && currentScore != score) {
+                bonus.play();
+                currentScore = score;
+                updateScoreLabels();
+            }
+        }
+
+        private void applyOpponentScore(int score) {
+            if (isGameActive && opponentScore != score) {
+                bonus.play();
+                opponentScore = score;
+                updateScoreLabels();
+            }
         }
 
         private void updateScoreLabels() {
@@ -294,38 +347,75 @@
         }
 
 
-        private void monitorTurnChanges() {
-            Thread turnMonitor = new Thread(() -> {
-                while (true) {
-                    try {
-                        Thread.sleep(100); // Check every 100ms
-                        if (client != null && controlButtons != null) {
-                            boolean currentTurn = turn;
-                            Platform.runLater(() -> updateButtonStates(currentTurn));
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            });
-            turnMonitor.setDaemon(true);
-            turnMonitor.start();
+        public static ReadOnlyBooleanProperty turnProperty() {
+            return turn;
         }
 
-        public static void updateButtonStates(boolean enabled) {
-            Platform.runLater(() -> {
-                if (controlButtons != null) {
-                    for (int i = 0; i < controlButtons.length ; i++) {
-                        controlButtons[i].setDisable(!enabled);
-                    }
-                }
+
+        @Override
+        public void start(Stage primaryStage) {
+            Scene lobby = createLobby();
+            primaryStage.setTitle("Pac-Man Maze Game");
+            primaryStage.setScene(lobby);
+            primaryStage.show();
+            startup.markNextFrame(lobby, "first frame", false);
+
+            assets.loaded().thenRun(() -> startup.mark("assets"));
+            CompletableFuture<Image> background = MAZE_READY.thenCompose(grid -> {
+                startup.mark("maze");
+                return themes.get(themeProperty.get(), MAZE_WIDTH * CELL_SIZE, MAZE_HEIGHT * CELL_SIZE);
             });
+            CompletableFuture.allOf(background, assets.loaded()).whenComplete((ignored, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    System.err.println("Failed to load game assets: " + error.getMessage());
+                    Platform.exit();
+                    return;
+                }
+                showGame(primaryStage, background.join());
+            }));
         }
 
+        private Scene createLobby() {
+            Label title = new Label("PAC-MAN MAZE");
+            title.setFont(Font.font("Arial", FontWeight.BOLD, 36));
+            title.setTextFill(PLAYER_COLOR);
+            title.setStyle("-fx-effect: dropshadow(gaussian, #2121DE, 4, 0.5, 0, 0);");
+
+            Label status = new Label();
+            status.textProperty().bind(Bindings.when(connectionProperty.isEmpty())
+                    .then("STARTING...").otherwise(connectionProperty));
+            styleLabel(status, Font.font("Arial", FontWeight.BOLD, 16));
+
+            VBox lobby = new VBox(30, title, status);
+            lobby.setAlignment(Pos.CENTER);
+            lobby.setStyle("-fx-background-color: #000000;");
+            return new Scene(lobby, 800, 600);
+        }
+
+        // The old background stays until the new one is decoded
+        private void refreshBackground(String theme) {
+            themes.get(theme, MAZE_WIDTH * CELL_SIZE, MAZE_HEIGHT * CELL_SIZE)
+                    .thenAccept(image -> Platform.runLater(() -> {
+                        if (theme.equals(themeProperty.get())) setMazeBackground(image);
+                    }));
+        }
+
+        private void setMazeBackground(Image backgroundImage) {
+            if (backgroundImage != null) {
+                ImagePattern backgroundPattern = new ImagePattern(backgroundImage);
+                mazePane.setBackground(new Background(new BackgroundFill(backgroundPattern, CornerRadii.EMPTY, Insets.EMPTY)));
+            } else {
+                mazePane.setBackground(new Background(new BackgroundFill(BACKGROUND_COLOR, CornerRadii.EMPTY, Insets.EMPTY)));
+            }
+        }
+
+        private void showGame(Stage primaryStage, Image backgroundImage) {
+            wakawaka = assets.wakawaka.join();
+            death = assets.death.join();
+            gameStart = assets.gameStart.join();
+            victory = assets.victory.join();
+            bonus = assets.bonus.join();
 
-        @Override
-        public void start(Stage primaryStage) {
             BorderPane root = new BorderPane();
             root.setStyle("-fx-background-color: #000000;");
 
@@ -335,39 +425,18 @@
             mazeContainer.setAlignment(Pos.CENTER); // Ensure StackPane centers its content
 
             mazePane = new Pane();
-            try {
-                Image backgroundImage = new Image(getClass().getResourceAsStream("/images/c.jpg"));//"/images/"+currentTheme.toLowerCase()+".jpg"
-                ImagePattern backgroundPattern = new ImagePattern(backgroundImage);
-                mazePane.setBackground(new Background(new BackgroundFill(backgroundPattern, CornerRadii.EMPTY, Insets.EMPTY)));
-            } catch (Exception e) {
-                System.err.println("Failed to load background image: " + e.getMessage());
-                mazePane.setBackground(new Background(new BackgroundFill(BACKGROUND_COLOR, CornerRadii.EMPTY, Insets.EMPTY)));
-            }
-
-            // Calculate the exact size needed for the maze
-            double mazeWidth = MAZE_WIDTH * CELL_SIZE;
-            double mazeHeight = MAZE_HEIGHT * CELL_SIZE;
+            setMazeBackground(backgroundImage);
+            // A new maze may come with another theme; the old background stays until the new one is decoded
+            themeProperty.addListener((obs, oldTheme, newTheme) -> refreshBackground(newTheme));
 
-            // Set the preferred size for mazePane
-            mazePane.setPrefSize(mazeWidth, mazeHeight);
-            mazePane.setMaxSize(mazeWidth, mazeHeight);
-            mazePane.setMinSize(mazeWidth, mazeHeight);
-
-            // Wrap mazePane in a centering container
-            VBox centeringBox = new VBox(mazePane);
-            centeringBox.setAlignment(Pos.CENTER);
-
-            // Add the centering container to the mazeContainer
-            mazeContainer.getChildren().add(centeringBox);
+            // The maze pane keeps its full size in maze coordinates, the viewport shows the part around the player
+            viewport = new MazeViewport(mazePane);
+            mazeContainer.getChildren().add(viewport);
 
             // Set the mazeContainer to grow and center in the available space
             VBox.setVgrow(mazeContainer, Priority.ALWAYS);
             HBox.setHgrow(mazeContainer, Priority.ALWAYS);
 
-            // Initialize path tracking arrays
-            playerPathCells = new Rectangle[MAZE_HEIGHT][MAZE_WIDTH];
-            opponentPathCells = new Rectangle[MAZE_HEIGHT][MAZE_WIDTH];
-
             // Create Pac-Man styled status bar
             HBox statusBar = new HBox(20);
             statusBar.setAlignment(Pos.CENTER);
@@ -387,13 +456,19 @@
 
 
             // Style the labels with Pac-Man theme
-            Font arcadeFont = Font.font("Arial", FontWeight.BOLD, 16);
+            Font arcadeFont = assets.arcadeFont.join();
             styleLabel(timeLabel, arcadeFont);
             styleLabel(scoreLabel, arcadeFont);
             styleLabel(opponentScoreLabel, arcadeFont);
             styleLabel(themeLabel, arcadeFont);
-
-            statusBar.getChildren().addAll(timeLabel, themeLabel, scoreLabel, opponentScoreLabel);
+            Label connectionLabel = new Label();
+            connectionLabel.textProperty().bind(connectionProperty);
+            connectionLabel.visibleProperty().bind(connectionProperty.isNotEmpty());
+            connectionLabel.managedProperty().bind(connectionLabel.visibleProperty());
+            styleLabel(connectionLabel, arcadeFont);
+            connectionLabel.setTextFill(OPPONENT_COLOR);
+
+            statusBar.getChildren().addAll(timeLabel, themeLabel, scoreLabel, opponentScoreLabel, connectionLabel);
             root.setTop(statusBar);
 
             // Create Pac-Man styled control buttons (keeping them as backup)
@@ -417,26 +492,39 @@
             root.setBottom(controlBox);
             root.setCenter(mazeContainer);
 
-            updateButtonStates(turn);
+            renderer = MazeRenderer.create();
+            viewport.setRegionListener(renderer::setVisibleRegion);
             regenerateMaze();
 
-            // Calculate the window size based on the maze size
-            double windowWidth = Math.max(MAZE_WIDTH * CELL_SIZE + 100, 800); // Minimum width of 800
-            double windowHeight = MAZE_HEIGHT * CELL_SIZE + 200; // Extra space for controls
+            // Calculate the window size based on the maze size, large mazes scroll inside the screen
+            Rectangle2D screen = Screen.getPrimary().getVisualBounds();
+            double windowWidth = Math.min(Math.max(MAZE_WIDTH * CELL_SIZE + 100, 800), screen.getWidth()); // Minimum width of 800
+            double windowHeight = Math.min(MAZE_HEIGHT * CELL_SIZE + 200, screen.getHeight()); // Extra space for controls
 
             Scene scene = new Scene(root, windowWidth, windowHeight);
 
             // Add keyboard controls
             scene.setOnKeyPressed(this::handleKeyPress);
+            debugOverlay.install(mazeContainer, scene);
 
-            primaryStage.setTitle("Pac-Man Maze Game");
             primaryStage.setScene(scene);
-            primaryStage.show();
+            primaryStage.sizeToScene();
+            primaryStage.centerOnScreen();
+            startup.markNextFrame(scene, "playable", true);
             gameStart.play();
             timer.start();
+            startMailbox();
+            if (Boolean.getBoolean("maze.frameStats")) {
+                new FrameTimeLogger(renderer.getClass().getSimpleName()).start();
+            }
         }
         private void handleKeyPress(KeyEvent event) {
-            if (!turn) return; // Only process keyboard input during player's turn
+            if (event.getCode() == KeyCode.F3) debugOverlay.toggle();
+            switch (event.getText()) {
+                case "+" -> viewport.zoom(1.25);
+                case "-" -> viewport.zoom(0.8);
+            }
+            if (!turn.get()) return; // Only process keyboard input during player's turn
 
             switch (event.getText().toLowerCase()) {
                 case "z" -> movePlayer(-1, 0);  // Up
@@ -468,6 +556,7 @@
             button.setFont(Font.font("Arial", 16));
             button.setMinSize(50, 50);
             button.setOnAction(e -> movePlayer(deltaRow, deltaCol));
+            button.disableProperty().bind(turn.not());
 
             // Add hover effect
             button.setOnMouseEntered(e -> button.setStyle("""
@@ -491,10 +580,26 @@
         }
 
 
+        // Before the first connection the text is shown by the lobby, afterwards in the status bar
+        public static void handleConnectionState(ConnectionState state) {
+            if (state == ConnectionState.CONNECTED) connectedOnce = true;
+            String status = switch (state) {
+                case CONNECTING -> connectedOnce ? "RECONNECTING..." : "CONNECTING TO SERVER...";
+                case HANDSHAKING -> connectedOnce ? "RECONNECTING..." : "LOADING MAZE...";
+                case BACKING_OFF -> connectedOnce ? "RECONNECTING..." : "SERVER UNREACHABLE, RETRYING...";
+                case CLOSED -> connectedOnce ? "" : "DISCONNECTED";
+                default -> "";
+            };
+            Platform.runLater(() -> connectionProperty.set(status));
+        }
+
         public static void handleGameOver() {
             Platform.runLater(() -> {
                 MazeVisualizer viz = getInstance();
-                if (viz != null) {
+                // Nothing to show while still in the lobby
+                if (viz != null && viz.mailboxSink != null) {
+                    // Scores still waiting for the next pulse must count
+                    MAILBOX.drain(viz.mailboxSink);
                     viz.isGameActive = false;
                     viz.timer.stop();
                     viz.updateScoreLabels();
@@ -520,10 +625,56 @@
                 double angle = Math.toDegrees(Math.atan2(deltaRow, deltaCol));
                 pacmanArc.setRotate(angle);
 
+                // Predicted locally, the server's acknowledgement reconciles it later
+                int sequence = client.isSequencedMoves() ? reconciler.predict(deltaRow, deltaCol) : 0;
+                if (sequence > 0 && !trails.playerCells().contains(playerRow, playerCol)) {
+                    predictedTrail.addLast(new TrailMark(sequence, playerRow, playerCol));
+                }
                 updatePlayerPosition(newRow, newCol);
-                Node currentNode = maze[newRow][newCol];
-                client.sendNodeToServer(currentNode);
+                client.sendMove(sequence, maze.cell(newRow, newCol));
+            }
+        }
+
+        private void applyMoveAck(int sequence, int row, int col) {
+            boolean moved = reconciler.onAck(sequence, row, col);
+            if (reconciler.isLastAckCorrected()) {
+                replayPredictedTrail(sequence, row, col);
+            } else {
+                while (!predictedTrail.isEmpty() && predictedTrail.peekFirst().sequence() <= sequence) {
+                    predictedTrail.pollFirst();
+                }
+            }
+            if (moved) {
+                playerRow = reconciler.getPredictedRow();
+                playerCol = reconciler.getPredictedCol();
+                player.setCenterX(playerCol * CELL_SIZE + CELL_SIZE / 2);
+                player.setCenterY(playerRow * CELL_SIZE + CELL_SIZE / 2);
+                viewport.follow(playerRow, playerCol, false);
+                // The trail jumped, letters walked since the rejected move no longer chain
+                wordTrail.reset();
+                trackWords();
+                showLegalMoves();
+                if (pathOverlay != null) pathOverlay.playerMoved(playerRow, playerCol);
+            }
+        }
+
+        private record TrailMark(int sequence, int row, int col) {
+        }
+
+        // Moves before the corrected one stand; from it on the trail is redrawn from the server's position
+        private void replayPredictedTrail(int sequence, int row, int col) {
+            while (!predictedTrail.isEmpty()) {
+                TrailMark mark = predictedTrail.pollLast();
+                if (mark.sequence() >= sequence) trails.unmarkPlayer(mark.row(), mark.col());
             }
+            int[] from = {row, col};
+            reconciler.forEachInFlight((inFlight, toRow, toCol) -> {
+                if (trails.markPlayer(from[0], from[1])) {
+                    predictedTrail.addLast(new TrailMark(inFlight, from[0], from[1]));
+                }
+                from[0] = toRow;
+                from[1] = toCol;
+            });
         }
 
         public void updatePlayerPosition(int newRow, int newCol) {
@@ -532,141 +683,118 @@
             }
 
             // Add path cell for previous position
-            if (playerPathCells[playerRow][playerCol] == null) {
-                Rectangle pathCell = new Rectangle(
-                        playerCol * CELL_SIZE,
-                        playerRow * CELL_SIZE,
-                        CELL_SIZE,
-                        CELL_SIZE
-                );
-                pathCell.setFill(PLAYER_PATH_COLOR);
-                mazePane.getChildren().add(pathCell);
-                playerPathCells[playerRow][playerCol] = pathCell;
-            }
+            trails.markPlayer(playerRow, playerCol);
 
             playerRow = newRow;
             playerCol = newCol;
             player.setCenterX(newCol * CELL_SIZE + CELL_SIZE / 2);
             player.setCenterY(newRow * CELL_SIZE + CELL_SIZE / 2);
+            viewport.follow(newRow, newCol, true);
+            trackWords();
+            showLegalMoves();
+            if (pathOverlay != null) pathOverlay.playerMoved(newRow, newCol);
+        }
+
+        private void trackWords() {
+            int length = wordTrail.step(playerRow, playerCol, maze.getValue(playerRow, playerCol));
+            if (length > 0) {
+                for (int back = 0; back < length; back++) {
+                    trails.markWord(wordTrail.rowAt(back), wordTrail.colAt(back));
+                }
+            }
+        }
+
+        // One dot per direction, reused across moves: only position and visibility change
+        private void showLegalMoves() {
+            int moves = maze.moveMask(playerRow, playerCol);
+            for (int d = 0; d < legalMoveMarkers.length; d++) {
+                Circle marker = legalMoveMarkers[d];
+                if (marker == null) {
+                    marker = new Circle(CELL_SIZE / 8.0, LEGAL_MOVE_COLOR);
+                    marker.setMouseTransparent(true);
+                    legalMoveMarkers[d] = marker;
+                }
+                if (marker.getParent() != mazePane) {
+                    mazePane.getChildren().add(marker);
+                }
+                boolean legal = (moves & (1 << d)) != 0;
+                marker.setVisible(legal);
+                if (legal) {
+                    marker.setCenterX((playerCol + MoveRules.DELTA_COL[d]) * CELL_SIZE + CELL_SIZE / 2);
+                    marker.setCenterY((playerRow + MoveRules.DELTA_ROW[d]) * CELL_SIZE + CELL_SIZE / 2);
+                }
+            }
         }
 
 
         // Method to update the other player's position
         public static void updateOtherPlayerPosition(int newRow, int newCol) {
-            Platform.runLater(() -> {
-                MazeVisualizer viz = getInstance();
-                if (viz != null) {
-                    // Add path cell for opponent
-                    if (viz.opponentPathCells[newRow][newCol] == null) {
-                        Rectangle pathCell = new Rectangle(
-                                newCol * CELL_SIZE,
-                                newRow * CELL_SIZE,
-                                CELL_SIZE,
-                                CELL_SIZE
-                        );
-                        pathCell.setFill(OPPONENT_PATH_COLOR);
-                        mazePane.getChildren().add(pathCell);
-                        viz.opponentPathCells[newRow][newCol] = pathCell;
-                    }
+            MAILBOX.postOpponentMove(newRow, newCol, MAZE_HEIGHT, MAZE_WIDTH);
+        }
 
-                    if (otherPlayer == null) {
-                        otherPlayer = new Circle(PLAYER_SIZE);
-                        otherPlayer.setFill(OPPONENT_COLOR);
-                        otherPlayer.setStroke(Color.WHITE);
-                        otherPlayer.setStrokeWidth(2);
-                        mazePane.getChildren().add(otherPlayer);
-                    }
+        private void applyOpponentPosition(int newRow, int newCol) {
+            if (otherPlayer == null) {
+                otherPlayer = new Circle(PLAYER_SIZE);
+                otherPlayer.setFill(OPPONENT_COLOR);
+                otherPlayer.setStroke(Color.WHITE);
+                otherPlayer.setStrokeWidth(2);
+            }
+            // Rendering a new maze clears the pane
+            if (otherPlayer.getParent() != mazePane) {
+                mazePane.getChildren().add(otherPlayer);
+            }
 
-                    otherPlayer.setCenterX(newCol * CELL_SIZE + CELL_SIZE / 2);
-                    otherPlayer.setCenterY(newRow * CELL_SIZE + CELL_SIZE / 2);
-                }
-            });
+            otherPlayer.setCenterX(newCol * CELL_SIZE + CELL_SIZE / 2);
+            otherPlayer.setCenterY(newRow * CELL_SIZE + CELL_SIZE / 2);
         }
 
-        private boolean isValidMove(int oldRow, int oldCol, int newRow, int newCol) {
-            if (newRow < 0 || newRow >= MAZE_HEIGHT || newCol < 0 || newCol >= MAZE_WIDTH) return false;
+        private void startMailbox() {
+            mailboxSink = new UiUpdateMailbox.Sink() {
+                @Override
+                public void applyOpponentTrail(int row, int col) {
+                    trails.markOpponent(row, col);
+                }
 
-            int rowDiff = newRow - oldRow;
-            int colDiff = newCol - oldCol;
+                @Override
+                public void applyOpponentPosition(int row, int col) {
+                    MazeVisualizer.this.applyOpponentPosition(row, col);
+                }
 
-            return possibleMove(rowDiff, colDiff,
-                    maze[oldRow][oldCol].getBorders(),
-                    maze[newRow][newCol].getBorders());
-        }
+                @Override
+                public void applyScore(int score) {
+                    MazeVisualizer.this.applyScore(score);
+                }
 
-        private boolean possibleMove(int dRow, int dCol, boolean[] cBorders, boolean[] nBorders) {
-            return switch (dRow) {
-                case -1 -> {
-                    yield switch (dCol) {
-                        case -1 -> (!cBorders[0] && !cBorders[3]) && (!nBorders[1] && !nBorders[2]);
-                        case 0 -> !cBorders[0] && !nBorders[2];
-                        case 1 -> (!cBorders[0] && !cBorders[1]) && (!nBorders[2] && !nBorders[3]);
-                        default -> false;
-                    };
+                @Override
+                public void applyOpponentScore(int score) {
+                    MazeVisualizer.this.applyOpponentScore(score);
                 }
-                case 1 -> {
-                    yield switch (dCol) {
-                        case -1 -> (!cBorders[2] && !cBorders[3]) && (!nBorders[1] && !nBorders[0]);
-                        case 0 -> !cBorders[2] && !nBorders[0];
-                        case 1 -> (!cBorders[1] && !cBorders[2]) && (!nBorders[0] && !nBorders[3]);
-                        default -> false;
-                    };
+
+                @Override
+                public void applyTurn(boolean playerTurn) {
+                    MazeVisualizer.this.applyTurn(playerTurn);
                 }
-                case 0 -> {
-                    yield switch (dCol) {
-                        case -1 -> !cBorders[3] && !nBorders[1];
-                        case 0 -> true;
-                        case 1 -> !cBorders[1] && !nBorders[3];
-                        default -> false;
-                    };
+
+                @Override
+                public void applyMoveAck(int sequence, int row, int col) {
+                    MazeVisualizer.this.applyMoveAck(sequence, row, col);
                 }
-                default -> false;
             };
+            MAILBOX.start(mailboxSink);
+        }
+
+        private boolean isValidMove(int oldRow, int oldCol, int newRow, int newCol) {
+            return MoveRules.isValidMove(maze, oldRow, oldCol, newRow, newCol);
         }
 
         private void regenerateMaze() {
-            mazePane.getChildren().clear();
-            cellRectangles = new Rectangle[MAZE_HEIGHT][MAZE_WIDTH];
-            playerPathCells = new Rectangle[MAZE_HEIGHT][MAZE_WIDTH];
-            opponentPathCells = new Rectangle[MAZE_HEIGHT][MAZE_WIDTH];
-
-            for (int y = 0; y < MAZE_HEIGHT; y++) {
-                for (int x = 0; x < MAZE_WIDTH; x++) {
-                    Node node = maze[y][x];
-                    double startX = x * CELL_SIZE;
-                    double startY = y * CELL_SIZE;
-
-                    Rectangle bgRect = new Rectangle(startX, startY, CELL_SIZE, CELL_SIZE);
-                    bgRect.setFill(Color.TRANSPARENT);
-                    mazePane.getChildren().add(bgRect);
-                    cellRectangles[y][x] = bgRect;
-
-                    // Draw walls with Pac-Man style
-                    boolean[] borders = node.getBorders();
-                    if (borders[0]) drawPacManWall(startX, startY, startX + CELL_SIZE, startY);
-                    if (borders[1]) drawPacManWall(startX + CELL_SIZE, startY, startX + CELL_SIZE, startY + CELL_SIZE);
-                    if (borders[2]) drawPacManWall(startX, startY + CELL_SIZE, startX + CELL_SIZE, startY + CELL_SIZE);
-                    if (borders[3]) drawPacManWall(startX, startY, startX, startY + CELL_SIZE);
-
-                    // Draw node value
-                    Label label = new Label(String.valueOf(node.getValue()));
-                    label.setFont(Font.font("Arial", FontWeight.EXTRA_BOLD, 20));
-                    label.setTextFill(TEXT_COLOR);
-                    label.setLayoutX(startX + (CELL_SIZE - label.getWidth()) / 3);
-                    label.setLayoutY(startY + (CELL_SIZE - label.getWidth()) / 4);
-                    label.setAlignment(Pos.CENTER);
-                    mazePane.getChildren().add(label);
-
-                    // Draw special cells (start/end)
-                    if (startNode != null && endNode != null) {
-                        if (node.getRow() == startNode.getRow() && node.getColumn() == startNode.getColumn()) {
-                            drawSpecialPacManCell(startX, startY, String.valueOf(node.getValue()), "#FFD700");
-                        } else if (node.getRow() == endNode.getRow() && node.getColumn() == endNode.getColumn()) {
-                            drawSpecialPacManCell(startX, startY, String.valueOf(node.getValue()), "#FF0000");
-                        }
-                    }
-                }
-            }
+            long startTime = System.nanoTime();
+            renderer.render(mazePane, maze, startNode, endNode);
+            trails.attach(mazePane, MAZE_HEIGHT, MAZE_WIDTH);
+            viewport.setMaze(MAZE_HEIGHT, MAZE_WIDTH);
+            System.out.println(renderer.getClass().getSimpleName() + " built " + MAZE_HEIGHT + "x" + MAZE_WIDTH
+                    + " maze in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+            if (pathOverlay != null) pathOverlay.attach(mazePane, maze, endNode);
 
             if (startNode != null) {
                 playerRow = startNode.getRow();
@@ -676,29 +804,11 @@
                 playerCol = 0;
             }
 
+            reconciler.reset(playerRow, playerCol);
+            predictedTrail.clear();
+            wordTrail = new WordTrail(WordIndex.forTheme(themeProperty.get()));
             createPacManPlayer();
         }
-        private void drawPacManWall(double startX, double startY, double endX, double endY) {
-            Line wall = new Line(startX, startY, endX, endY);
-            wall.setStroke(WALL_COLOR);
-            wall.setStrokeWidth(3);
-            wall.setStyle("-fx-effect: dropshadow(gaussian, #0000FF, 5, 0.5, 0, 0);");
-            mazePane.getChildren().add(wall);
-        }
-
-        private void drawSpecialPacManCell(double x, double y, String value, String color) {
-            Rectangle rect = new Rectangle(x + 2, y + 2, CELL_SIZE - 4, CELL_SIZE - 4);
-            rect.setFill(Color.web(color + "40"));
-            rect.setStroke(Color.web(color));
-            rect.setStrokeWidth(3);
-            rect.setArcWidth(10);
-            rect.setArcHeight(10);
-            rect.setStyle("-fx-effect: dropshadow(gaussian, " + color + ", 10, 0.5, 0, 0);");
-
-
-
-            mazePane.getChildren().addAll(rect);
-        }
 
         private void createPacManPlayer() {
             player = pacmanArc;
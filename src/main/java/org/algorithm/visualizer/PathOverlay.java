@@ -0,0 +1,149 @@
+package org.algorithm.visualizer;
+
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.HLineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.shape.VLineTo;
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.DistanceField;
+import org.algorithm.maze_builder.MazeGrid;
+import org.algorithm.maze_builder.PathFinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.algorithm.visualizer.MazeVisualizer.CELL_SIZE;
+
+/**
+ * Shortest path to the exit and the region reachable from the player, drawn over the maze.
+ * Searches run on virtual threads and never on the FX thread. The distance field from the exit is
+ * built once per maze; after that a move only walks the field down to the exit, and a new search
+ * from the player is needed only when the exit cannot be reached from where the player stands.
+ * Every move bumps a generation: older searches stop at their next check and their results are
+ * dropped, so a move never waits on stale work.
+ */
+class PathOverlay {
+    private static final Color REGION_COLOR = Color.web("#00FFFF14");
+    private static final Color ROUTE_COLOR = Color.web("#00FFFF80");
+
+    private final AtomicInteger mazeGeneration = new AtomicInteger();
+    private final AtomicInteger moveGeneration = new AtomicInteger();
+    private final Group layer = new Group();
+    private final Path region = new Path();
+    private final Polyline route = new Polyline();
+
+    // FX thread only
+    private MazeGrid grid;
+    private DistanceField exitField;
+    private DistanceField regionField;
+    private int playerRow;
+    private int playerCol;
+
+    PathOverlay() {
+        region.setFill(REGION_COLOR);
+        region.setStroke(null);
+        route.setStroke(ROUTE_COLOR);
+        route.setStrokeWidth(CELL_SIZE / 8.0);
+        route.setStrokeLineJoin(StrokeLineJoin.ROUND);
+        layer.getChildren().addAll(region, route);
+        layer.setMouseTransparent(true);
+    }
+
+    /** Adds the overlay to a freshly rendered maze and starts the search from the exit. */
+    void attach(Pane mazePane, MazeGrid grid, Node endNode) {
+        int generation = mazeGeneration.incrementAndGet();
+        moveGeneration.incrementAndGet();
+        this.grid = grid;
+        exitField = null;
+        regionField = null;
+        region.getElements().clear();
+        route.getPoints().clear();
+        mazePane.getChildren().add(layer);
+        if (endNode == null) return;
+
+        int endRow = endNode.getRow();
+        int endCol = endNode.getColumn();
+        Thread.ofVirtual().name("path-exit").start(() -> {
+            long startTime = System.nanoTime();
+            DistanceField field = PathFinder.distancesFrom(grid, endRow, endCol,
+                    () -> mazeGeneration.get() != generation);
+            if (field == null) return;
+            System.out.println("Exit distance field for " + grid.getRows() + "x" + grid.getCols() + " maze in "
+                    + (System.nanoTime() - startTime) / 1_000 + " µs, " + field.reachableCount() + " cells reachable");
+            Platform.runLater(() -> {
+                if (mazeGeneration.get() != generation) return;
+                exitField = field;
+                playerMoved(playerRow, playerCol);
+            });
+        });
+    }
+
+    /** Called on the FX thread whenever the player's cell changes. */
+    void playerMoved(int row, int col) {
+        playerRow = row;
+        playerCol = col;
+        if (grid == null) return;
+        int generation = moveGeneration.incrementAndGet();
+        MazeGrid grid = this.grid;
+        DistanceField exit = exitField;
+        DistanceField known = regionField;
+        Thread.ofVirtual().name("path-move").start(() -> {
+            DistanceField reach;
+            if (exit != null && exit.reachable(row, col)) {
+                reach = exit;
+            } else if (known != null && known.reachable(row, col)) {
+                reach = known;
+            } else {
+                reach = PathFinder.distancesFrom(grid, row, col, () -> moveGeneration.get() != generation);
+                if (reach == null) return;
+            }
+            int[] path = reach == exit ? exit.pathToSource(grid, row, col) : new int[0];
+            if (moveGeneration.get() != generation) return;
+            List<Double> points = new ArrayList<>(path.length * 2);
+            for (int cell : path) {
+                points.add((double) (cell % grid.getCols()) * CELL_SIZE + CELL_SIZE / 2.0);
+                points.add((double) (cell / grid.getCols()) * CELL_SIZE + CELL_SIZE / 2.0);
+            }
+            List<PathElement> regionShape = reach == known ? null : regionShape(reach);
+            Platform.runLater(() -> {
+                if (moveGeneration.get() != generation) return;
+                route.getPoints().setAll(points);
+                if (regionShape != null) {
+                    regionField = reach;
+                    region.getElements().setAll(regionShape);
+                }
+            });
+        });
+    }
+
+    // One rectangle per horizontal run of reachable cells
+    private static List<PathElement> regionShape(DistanceField field) {
+        List<PathElement> elements = new ArrayList<>();
+        for (int row = 0; row < field.rows(); row++) {
+            int col = 0;
+            while (col < field.cols()) {
+                if (!field.reachable(row, col)) {
+                    col++;
+                    continue;
+                }
+                int runStart = col;
+                while (col < field.cols() && field.reachable(row, col)) col++;
+                elements.add(new MoveTo(runStart * CELL_SIZE, row * CELL_SIZE));
+                elements.add(new HLineTo(col * CELL_SIZE));
+                elements.add(new VLineTo((row + 1) * CELL_SIZE));
+                elements.add(new HLineTo(runStart * CELL_SIZE));
+                elements.add(new ClosePath());
+            }
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,142 @@
+package org.algorithm.visualizer;
+
+import javafx.geometry.Pos;
+import javafx.scene.Group;
+import javafx.scene.control.Label;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import org.algorithm.components.Node;
+import org.algorithm.maze_builder.MazeGrid;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.algorithm.visualizer.MazeVisualizer.CELL_SIZE;
+
+/**
+ * Original renderer: a Label per cell plus the start/end highlight, and the walls of the region as
+ * one merged Path whose glow is rendered once into a cached bitmap.
+ * Only cells of the visible region exist; a cell leaving the view hands its nodes to one entering it.
+ */
+class SceneGraphMazeRenderer implements MazeRenderer {
+    private static final Font VALUE_FONT = Font.font("Arial", FontWeight.EXTRA_BOLD, 20);
+    private static final DropShadow WALL_GLOW = new DropShadow(BlurType.GAUSSIAN, Color.web("#0000FF"), 5, 0.5, 0, 0);
+
+    private Group cellLayer;
+    private Path walls;
+    private MazeGrid maze;
+    private Node startNode;
+    private Node endNode;
+    private final List<CellView> shownCells = new ArrayList<>();
+    private final ArrayDeque<CellView> freeCells = new ArrayDeque<>();
+
+    @Override
+    public void render(Pane mazePane, MazeGrid maze, Node startNode, Node endNode) {
+        this.maze = maze;
+        this.startNode = startNode;
+        this.endNode = endNode;
+        mazePane.getChildren().clear();
+        shownCells.clear();
+        freeCells.clear();
+
+        walls = new Path();
+        walls.setStroke(MazeVisualizer.WALL_COLOR);
+        walls.setStrokeWidth(3);
+        // The glow is an effect on the group, so it runs once for all walls and is kept as a bitmap
+        Group wallLayer = new Group(walls);
+        wallLayer.setEffect(WALL_GLOW);
+        wallLayer.setCache(true);
+        cellLayer = new Group();
+        mazePane.getChildren().addAll(wallLayer, cellLayer);
+    }
+
+    @Override
+    public void setVisibleRegion(int firstRow, int firstCol, int lastRow, int lastCol) {
+        int[] runs = WallGeometry.runs(maze, firstRow, firstCol, lastRow, lastCol);
+        List<PathElement> elements = new ArrayList<>(runs.length / 2);
+        for (int i = 0; i < runs.length; i += 4) {
+            elements.add(new MoveTo(runs[i + 1] * CELL_SIZE, runs[i] * CELL_SIZE));
+            elements.add(new LineTo(runs[i + 3] * CELL_SIZE, runs[i + 2] * CELL_SIZE));
+        }
+        walls.getElements().setAll(elements);
+
+        int width = lastCol - firstCol;
+        CellView[] region = new CellView[Math.max(0, (lastRow - firstRow) * width)];
+        for (CellView cell : shownCells) {
+            if (cell.row >= firstRow && cell.row < lastRow && cell.col >= firstCol && cell.col < lastCol) {
+                region[(cell.row - firstRow) * width + cell.col - firstCol] = cell;
+            } else {
+                cell.setVisible(false);
+                freeCells.push(cell);
+            }
+        }
+        shownCells.clear();
+        for (int y = firstRow; y < lastRow; y++) {
+            for (int x = firstCol; x < lastCol; x++) {
+                CellView cell = region[(y - firstRow) * width + x - firstCol];
+                if (cell == null) {
+                    cell = freeCells.isEmpty() ? newCell() : freeCells.pop();
+                    cell.show(y, x);
+                }
+                shownCells.add(cell);
+            }
+        }
+    }
+
+    private CellView newCell() {
+        CellView cell = new CellView();
+        cellLayer.getChildren().add(cell);
+        return cell;
+    }
+
+    // Letter and start/end highlight of one cell, in cell coordinates
+    private final class CellView extends Group {
+        private final Label label = new Label();
+        private final Rectangle special = new Rectangle(2, 2, CELL_SIZE - 4, CELL_SIZE - 4);
+        private int row;
+        private int col;
+
+        CellView() {
+            label.setFont(VALUE_FONT);
+            label.setTextFill(MazeVisualizer.TEXT_COLOR);
+            label.setLayoutX(CELL_SIZE / 3.0);
+            label.setLayoutY(CELL_SIZE / 4.0);
+            label.setAlignment(Pos.CENTER);
+            special.setStrokeWidth(3);
+            special.setArcWidth(10);
+            special.setArcHeight(10);
+            getChildren().addAll(label, special);
+        }
+
+        void show(int row, int col) {
+            this.row = row;
+            this.col = col;
+            setLayoutX(col * CELL_SIZE);
+            setLayoutY(row * CELL_SIZE);
+            label.setText(String.valueOf(maze.getValue(row, col)));
+
+            String color = null;
+            if (startNode != null && endNode != null) {
+                if (row == startNode.getRow() && col == startNode.getColumn()) color = "#FFD700";
+                else if (row == endNode.getRow() && col == endNode.getColumn()) color = "#FF0000";
+            }
+            special.setVisible(color != null);
+            if (color != null) {
+                special.setFill(Color.web(color + "40"));
+                special.setStroke(Color.web(color));
+                special.setStyle("-fx-effect: dropshadow(gaussian, " + color + ", 10, 0.5, 0, 0);");
+            }
+            setVisible(true);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.algorithm.visualizer;
+
+import javafx.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.util.StringJoiner;
+
+/**
+ * Startup milestones in milliseconds since the JVM started, logged on one line once the game is
+ * playable: first lobby frame, maze received, assets loaded, first game frame.
+ */
+class StartupTimer {
+    private final StringJoiner milestones = new StringJoiner(", ", "Startup: ", " ms since JVM start");
+
+    synchronized void mark(String milestone) {
+        milestones.add(milestone + " " + ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /** Marks {@code milestone} at the end of the next pulse of {@code scene}, after its layout. */
+    void markNextFrame(Scene scene, String milestone, boolean last) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            mark(milestone);
+            if (last) System.out.println(this);
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return milestones.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package org.algorithm.visualizer;
+
+import javafx.scene.image.Image;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.prefs.Preferences;
+
+/**
+ * Theme backgrounds decoded off the FX thread at the size they are drawn, the maze pane's, so a
+ * large JPEG is never decoded at full resolution only to be scaled down on every frame. Decoded
+ * images are kept in a least recently used map keyed by theme and size (-Dmaze.themeCache
+ * entries, default 4); concurrent requests for the same key share one decode. The theme and size
+ * of the last game are remembered across runs and prefetched at startup, as the next game is most
+ * often played on the same server maze.
+ */
+class ThemeImageCache {
+    // Longest side decoded; the pattern is stretched over larger panes
+    private static final int MAX_SIDE = 2048;
+    private static final Preferences LAST_GAME = Preferences.userNodeForPackage(ThemeImageCache.class);
+
+    private record Key(String theme, int width, int height) {
+    }
+
+    private final int capacity = Math.max(1, Integer.getInteger("maze.themeCache", 4));
+    private final Map<Key, CompletableFuture<Image>> images = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<Image>> eldest) {
+            return size() > capacity;
+        }
+    };
+
+    /**
+     * Background of {@code theme} for a pane of the given size; completes with null when the
+     * theme has no image. Remembered as the theme to prefetch on the next start.
+     */
+    CompletableFuture<Image> get(String theme, double paneWidth, double paneHeight) {
+        Key key = key(theme, paneWidth, paneHeight);
+        LAST_GAME.put("theme", key.theme());
+        LAST_GAME.putDouble("width", paneWidth);
+        LAST_GAME.putDouble("height", paneHeight);
+        return lookup(key);
+    }
+
+    /** Starts decoding the background of the last game played, if any. */
+    void prefetchLastGame() {
+        String theme = LAST_GAME.get("theme", null);
+        double width = LAST_GAME.getDouble("width", 0);
+        double height = LAST_GAME.getDouble("height", 0);
+        if (theme != null && width > 0 && height > 0) {
+            lookup(key(theme, width, height));
+        }
+    }
+
+    private static Key key(String theme, double paneWidth, double paneHeight) {
+        double scale = Math.min(1, MAX_SIDE / Math.max(paneWidth, paneHeight));
+        return new Key(theme == null ? "" : theme.toLowerCase(Locale.ROOT),
+                Math.max(1, (int) Math.round(paneWidth * scale)), Math.max(1, (int) Math.round(paneHeight * scale)));
+    }
+
+    private CompletableFuture<Image> lookup(Key key) {
+        synchronized (images) {
+            return images.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> decode(k), GameAssets.LOADER));
+        }
+    }
+
+    private static Image decode(Key key) {
+        long startTime = System.nanoTime();
+        try (InputStream stream = ThemeImageCache.class.getResourceAsStream("/images/" + key.theme() + ".jpg")) {
+            if (stream == null) {
+                System.err.println("No background image for theme " + key.theme());
+                return null;
+            }
+            // The pattern fills the whole pane, so the aspect ratio is the pane's
+            Image image = new Image(stream, key.width(), key.height(), false, true);
+            if (image.isError()) {
+                System.err.println("Failed to decode background image: " + image.getException().getMessage());
+                return null;
+            }
+            System.out.printf("Decoded %s background at %dx%d in %.1f ms%n", key.theme(), key.width(), key.height(),
+                    (System.nanoTime() - startTime) / 1_000_000.0);
+            return image;
+        } catch (Exception e) {
+            System.err.println("Failed to load background image: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.algorithm.visualizer;
+
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import org.algorithm.maze_builder.VisitedCells;
+
+import static org.algorithm.visualizer.MazeVisualizer.CELL_SIZE;
+
+/**
+ * Player, opponent and word trails kept as visited bitsets and painted into a single image with
+ * one pixel per cell, scaled up to the maze without smoothing. Marking a cell writes one pixel, so
+ * a move costs the same at the end of a long game as at the start and the trails stay one node.
+ */
+class TrailOverlay {
+    private static final int PLAYER = 1;
+    private static final int OPPONENT = 2;
+    private static final int WORD = 4;
+    // Pixel for every combination of trails on a cell, layers blended in the order above
+    private static final int[] COLORS = new int[8];
+
+    static {
+        Color[] layers = {MazeVisualizer.PLAYER_PATH_COLOR, MazeVisualizer.OPPONENT_PATH_COLOR, MazeVisualizer.WORD_COLOR};
+        for (int combination = 0; combination < COLORS.length; combination++) {
+            double red = 0;
+            double green = 0;
+            double blue = 0;
+            double alpha = 0;
+            for (int layer = 0; layer < layers.length; layer++) {
+                if ((combination & (1 << layer)) == 0) continue;
+                Color color = layers[layer];
+                double a = color.getOpacity();
+                double blended = a + alpha * (1 - a);
+                red = (color.getRed() * a + red * alpha * (1 - a)) / blended;
+                green = (color.getGreen() * a + green * alpha * (1 - a)) / blended;
+                blue = (color.getBlue() * a + blue * alpha * (1 - a)) / blended;
+                alpha = blended;
+            }
+            COLORS[combination] = (int) Math.round(alpha * 255) << 24 | (int) Math.round(red * 255) << 16
+                    | (int) Math.round(green * 255) << 8 | (int) Math.round(blue * 255);
+        }
+    }
+
+    private final ImageView view = new ImageView();
+    private WritableImage image;
+    private VisitedCells player;
+    private VisitedCells opponent;
+    private VisitedCells words;
+
+    TrailOverlay() {
+        view.setSmooth(false);
+        view.setMouseTransparent(true);
+    }
+
+    /** Starts empty trails for a freshly rendered maze and adds the overlay on top of it. */
+    void attach(Pane mazePane, int rows, int cols) {
+        image = new WritableImage(cols, rows);
+        player = new VisitedCells(rows, cols);
+        opponent = new VisitedCells(rows, cols);
+        words = new VisitedCells(rows, cols);
+        view.setImage(image);
+        view.setFitWidth(cols * CELL_SIZE);
+        view.setFitHeight(rows * CELL_SIZE);
+        mazePane.getChildren().add(view);
+    }
+
+    /** Returns false when the cell was already on the player's trail. */
+    boolean markPlayer(int row, int col) {
+        if (!player.mark(row, col)) return false;
+        paint(row, col);
+        return true;
+    }
+
+    void unmarkPlayer(int row, int col) {
+        if (player.unmark(row, col)) paint(row, col);
+    }
+
+    void markOpponent(int row, int col) {
+        if (opponent.mark(row, col)) paint(row, col);
+    }
+
+    void markWord(int row, int col) {
+        if (words.mark(row, col)) paint(row, col);
+    }
+
+    VisitedCells playerCells() {
+        return player;
+    }
+
+    VisitedCells opponentCells() {
+        return opponent;
+    }
+
+    private void paint(int row, int col) {
+        int combination = (player.contains(row, col) ? PLAYER : 0)
+                | (opponent.contains(row, col) ? OPPONENT : 0)
+                | (words.contains(row, col) ? WORD : 0);
+        image.getPixelWriter().setArgb(col, row, COLORS[combination]);
+    }
+}
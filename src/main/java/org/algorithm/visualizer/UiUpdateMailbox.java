@@ -0,0 +1,184 @@
+package org.algorithm.visualizer;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latest-value slots written lock-free by the network thread and drained once per pulse
+ * on the FX thread, so a burst of moves or score changes within one frame costs one UI update.
+ * The pulse timer only runs while there is something to drain: the first post starts it and
+ * a pulse that finds the mailbox empty stops it.
+ * Opponent trail cells are kept in a bitset instead of a slot, so coalescing never loses a cell.
+ */
+final class UiUpdateMailbox {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int NO_TURN = -1;
+
+    /** Receives drained values on the FX thread. */
+    interface Sink {
+        void applyOpponentTrail(int row, int col);
+
+        void applyOpponentPosition(int row, int col);
+
+        void applyScore(int score);
+
+        void applyOpponentScore(int score);
+
+        void applyTurn(boolean playerTurn);
+
+        void applyMoveAck(int sequence, int row, int col);
+    }
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // Set while the timer runs or a start is queued on the FX thread
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private volatile AnimationTimer timer;
+    private final AtomicLong opponentPosition = new AtomicLong(EMPTY);
+    private final AtomicLong score = new AtomicLong(EMPTY);
+    private final AtomicLong opponentScore = new AtomicLong(EMPTY);
+    private final AtomicInteger turn = new AtomicInteger(NO_TURN);
+    // Acknowledgements are cumulative, only the newest one matters: seq << 32 | row << 16 | col
+    private final AtomicLong moveAck = new AtomicLong(EMPTY);
+    private volatile AtomicLongArray opponentTrail;
+    private volatile int trailColumns;
+
+    // Posted counters are bumped by the writer, applied counters only on the FX thread
+    private final AtomicLong postedMoves = new AtomicLong();
+    private final AtomicLong postedScores = new AtomicLong();
+    private final AtomicLong postedTurns = new AtomicLong();
+    private final AtomicLong postedAcks = new AtomicLong();
+    private long appliedAcks;
+    private long appliedMoves;
+    private long appliedScores;
+    private long appliedTurns;
+    private long drains;
+
+    void postOpponentMove(int row, int col, int rows, int cols) {
+        AtomicLongArray trail = opponentTrail;
+        if (trail == null || trailColumns != cols || trail.length() * 64L < (long) rows * cols) {
+            trail = new AtomicLongArray((rows * cols + 63) / 64);
+            trailColumns = cols;
+            opponentTrail = trail;
+        }
+        int cell = row * cols + col;
+        trail.getAndAccumulate(cell >>> 6, 1L << (cell & 63), (current, bit) -> current | bit);
+        opponentPosition.set(((long) row << 32) | (col & 0xFFFFFFFFL));
+        postedMoves.incrementAndGet();
+        post();
+    }
+
+    void postScore(int value) {
+        score.set(value);
+        postedScores.incrementAndGet();
+        post();
+    }
+
+    void postOpponentScore(int value) {
+        opponentScore.set(value);
+        postedScores.incrementAndGet();
+        post();
+    }
+
+    void postTurn(boolean playerTurn) {
+        turn.set(playerTurn ? 1 : 0);
+        postedTurns.incrementAndGet();
+        post();
+    }
+
+    void postMoveAck(int sequence, int row, int col) {
+        moveAck.set(((long) sequence << 32) | ((long) (row & 0xFFFF) << 16) | (col & 0xFFFF));
+        postedAcks.incrementAndGet();
+        post();
+    }
+
+    private void post() {
+        dirty.set(true);
+        if (!armed.getAndSet(true)) {
+            Platform.runLater(() -> {
+                AnimationTimer current = timer;
+                if (current != null) current.start();
+            });
+        }
+    }
+
+    /** FX thread only. */
+    void drain(Sink sink) {
+        if (!dirty.getAndSet(false)) return;
+        drains++;
+
+        AtomicLongArray trail = opponentTrail;
+        if (trail != null) {
+            int cols = trailColumns;
+            for (int word = 0; word < trail.length(); word++) {
+                if (trail.get(word) == 0) continue;
+                long bits = trail.getAndSet(word, 0);
+                while (bits != 0) {
+                    int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    sink.applyOpponentTrail(cell / cols, cell % cols);
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        long position = opponentPosition.getAndSet(EMPTY);
+        if (position != EMPTY) {
+            appliedMoves++;
+            sink.applyOpponentPosition((int) (position >> 32), (int) position);
+        }
+        long latestAck = moveAck.getAndSet(EMPTY);
+        if (latestAck != EMPTY) {
+            appliedAcks++;
+            sink.applyMoveAck((int) (latestAck >>> 32), (int) (latestAck >>> 16) & 0xFFFF, (int) latestAck & 0xFFFF);
+        }
+        long latestScore = score.getAndSet(EMPTY);
+        if (latestScore != EMPTY) {
+            appliedScores++;
+            sink.applyScore((int) latestScore);
+        }
+        long latestOpponentScore = opponentScore.getAndSet(EMPTY);
+        if (latestOpponentScore != EMPTY) {
+            appliedScores++;
+            sink.applyOpponentScore((int) latestOpponentScore);
+        }
+        int latestTurn = turn.getAndSet(NO_TURN);
+        if (latestTurn != NO_TURN) {
+            appliedTurns++;
+            sink.applyTurn(latestTurn == 1);
+        }
+    }
+
+    /** Drains into {@code sink} from now on, replacing the previous one. FX thread only. */
+    void start(Sink sink) {
+        if (timer != null) timer.stop();
+        AnimationTimer next = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                drain(sink);
+                if (dirty.get()) return;
+                armed.set(false);
+                // A post in between saw the timer armed and left the draining to us
+                if (dirty.get() && !armed.getAndSet(true)) return;
+                stop();
+            }
+        };
+        timer = next;
+        // Whatever was posted before there was a sink is drained on the first pulse
+        armed.set(true);
+        next.start();
+    }
+
+    String report() {
+        long moves = postedMoves.get();
+        long scores = postedScores.get();
+        long turns = postedTurns.get();
+        long acks = postedAcks.get();
+        return String.format("Mailbox %d drains, posted/coalesced moves %d/%d  scores %d/%d  turns %d/%d  acks %d/%d",
+                drains, moves, moves - appliedMoves, scores, scores - appliedScores, turns, turns - appliedTurns,
+                acks, acks - appliedAcks);
+    }
+}
@@ -0,0 +1,60 @@
+package org.algorithm.visualizer;
+
+import org.algorithm.client.ConnectionState;
+import org.algorithm.client.GameListener;
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.WordIndex;
+
+/**
+ * Routes client events into the static MazeVisualizer entry points.
+ */
+class VisualizerGameListener implements GameListener {
+
+    @Override
+    public void onMazeLoaded(Maze maze) {
+        MazeVisualizer.MAZE_HEIGHT = maze.getNbRow();
+        MazeVisualizer.MAZE_WIDTH = maze.getNbCol();
+        MazeVisualizer.startNode = maze.getStart();
+        MazeVisualizer.endNode = maze.getEnd();
+        MazeVisualizer.themeProperty.set(maze.getTheme());
+        // Compiled here on the network thread so the first move does not build it
+        WordIndex.forTheme(maze.getTheme());
+        // Published last: the game screen is built as soon as it is
+        MazeVisualizer.mazeLoaded(maze.getGrid());
+    }
+
+    @Override
+    public void onOpponentMove(int row, int col) {
+        MazeVisualizer.updateOtherPlayerPosition(row, col);
+    }
+
+    @Override
+    public void onTurnChange(boolean playerTurn) {
+        MazeVisualizer.handleTurnChange(playerTurn);
+    }
+
+    @Override
+    public void onScore(int score) {
+        MazeVisualizer.updateScore(score);
+    }
+
+    @Override
+    public void onOpponentScore(int score) {
+        MazeVisualizer.updateOpponentScore(score);
+    }
+
+    @Override
+    public void onMoveAck(int sequence, int row, int col, int score) {
+        MazeVisualizer.handleMoveAck(sequence, row, col, score);
+    }
+
+    @Override
+    public void onGameOver() {
+        MazeVisualizer.handleGameOver();
+    }
+
+    @Override
+    public void onConnectionStateChanged(ConnectionState state) {
+        MazeVisualizer.handleConnectionState(state);
+    }
+}
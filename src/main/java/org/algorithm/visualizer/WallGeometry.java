@@ -0,0 +1,73 @@
+package org.algorithm.visualizer;
+
+import org.algorithm.maze_builder.MazeGrid;
+
+import java.util.Arrays;
+
+/**
+ * Walls of a block of cells as straight runs along the grid lines. A wall shared by two cells is
+ * emitted once, whichever of them carries the border bit, and collinear neighbours are merged, so a
+ * block needs a few long segments instead of up to four lines per cell.
+ */
+final class WallGeometry {
+
+    private WallGeometry() {
+    }
+
+    /**
+     * Runs inside rows [firstRow, lastRow) and columns [firstCol, lastCol), including the block's
+     * outline, as (row1, col1, row2, col2) grid corners: four ints per run.
+     */
+    static int[] runs(MazeGrid maze, int firstRow, int firstCol, int lastRow, int lastCol) {
+        int[] runs = new int[64];
+        int size = 0;
+        for (int y = firstRow; y <= lastRow; y++) {
+            int runStart = -1;
+            for (int x = firstCol; x <= lastCol; x++) {
+                boolean wall = x < lastCol && horizontalWall(maze, y, x);
+                if (wall && runStart < 0) {
+                    runStart = x;
+                } else if (!wall && runStart >= 0) {
+                    runs = add(runs, size, y, runStart, y, x);
+                    size += 4;
+                    runStart = -1;
+                }
+            }
+        }
+        for (int x = firstCol; x <= lastCol; x++) {
+            int runStart = -1;
+            for (int y = firstRow; y <= lastRow; y++) {
+                boolean wall = y < lastRow && verticalWall(maze, y, x);
+                if (wall && runStart < 0) {
+                    runStart = y;
+                } else if (!wall && runStart >= 0) {
+                    runs = add(runs, size, runStart, x, y, x);
+                    size += 4;
+                    runStart = -1;
+                }
+            }
+        }
+        return Arrays.copyOf(runs, size);
+    }
+
+    // Grid line above row y, under column x
+    private static boolean horizontalWall(MazeGrid maze, int y, int x) {
+        return (y > 0 && (maze.getBorders(y - 1, x) & MazeGrid.BOTTOM) != 0)
+                || (y < maze.getRows() && (maze.getBorders(y, x) & MazeGrid.TOP) != 0);
+    }
+
+    // Grid line left of column x, beside row y
+    private static boolean verticalWall(MazeGrid maze, int y, int x) {
+        return (x > 0 && (maze.getBorders(y, x - 1) & MazeGrid.RIGHT) != 0)
+                || (x < maze.getCols() && (maze.getBorders(y, x) & MazeGrid.LEFT) != 0);
+    }
+
+    private static int[] add(int[] runs, int size, int row1, int col1, int row2, int col2) {
+        if (size + 4 > runs.length) runs = Arrays.copyOf(runs, runs.length * 2);
+        runs[size] = row1;
+        runs[size + 1] = col1;
+        runs[size + 2] = row2;
+        runs[size + 3] = col2;
+        return runs;
+    }
+}
@@ -0,0 +1,48 @@
+package org.algorithm.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackoffTest {
+
+    @Test
+    void delaysDoubleWithinHalfToAllOfTheirCeiling() {
+        Backoff backoff = new Backoff(100, 1_000);
+        long[] ceilings = {100, 200, 400, 800, 1_000, 1_000};
+        for (int round = 0; round < 200; round++) {
+            backoff.reset();
+            for (long ceiling : ceilings) {
+                long delay = backoff.nextDelayMillis();
+                assertTrue(delay >= ceiling / 2 && delay <= ceiling, delay + " outside " + ceiling / 2 + ".." + ceiling);
+            }
+            assertEquals(ceilings.length, backoff.attempts());
+        }
+    }
+
+    @Test
+    void resetStartsOverFromTheBaseDelay() {
+        Backoff backoff = new Backoff(100, 60_000);
+        for (int i = 0; i < 10; i++) backoff.nextDelayMillis();
+        backoff.reset();
+        assertEquals(0, backoff.attempts());
+        assertTrue(backoff.nextDelayMillis() <= 100);
+    }
+
+    @Test
+    void manyAttemptsDoNotOverflow() {
+        Backoff backoff = new Backoff(500, 30_000);
+        for (int i = 0; i < 100; i++) {
+            long delay = backoff.nextDelayMillis();
+            assertTrue(delay >= 250 && delay <= 30_000, String.valueOf(delay));
+        }
+    }
+
+    @Test
+    void nonsensicalBoundsAreClamped() {
+        Backoff backoff = new Backoff(0, -5);
+        long delay = backoff.nextDelayMillis();
+        assertTrue(delay >= 0 && delay <= 1, String.valueOf(delay));
+    }
+}
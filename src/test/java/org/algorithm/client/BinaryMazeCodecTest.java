@@ -0,0 +1,88 @@
+package org.algorithm.client;
+
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.maze_builder.MazeGrid;
+import org.algorithm.server.MazeGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryMazeCodecTest {
+
+    @Test
+    void roundTripKeepsGridStartAndEnd() throws IOException {
+        // Odd cell count, so the last border byte holds a single nibble
+        Maze maze = MazeGenerator.generate(7, 5, "animals", 3);
+        Maze decoded = new Maze();
+        BinaryMazeCodec.read(new ProtocolInputStream(new ByteArrayInputStream(encode(maze))), decoded);
+
+        assertEquals(7, decoded.getNbRow());
+        assertEquals(5, decoded.getNbCol());
+        assertEquals(maze.getStart().getRow(), decoded.getStart().getRow());
+        assertEquals(maze.getStart().getColumn(), decoded.getStart().getColumn());
+        assertEquals(maze.getEnd().getRow(), decoded.getEnd().getRow());
+        assertEquals(maze.getEnd().getColumn(), decoded.getEnd().getColumn());
+        MazeGrid grid = decoded.getGrid();
+        assertArrayEquals(maze.getGrid().borderArray(), grid.borderArray());
+        assertArrayEquals(maze.getGrid().valueArray(), grid.valueArray());
+        assertEquals(BinaryMazeCodec.contentHash(maze), BinaryMazeCodec.contentHash(decoded));
+    }
+
+    @Test
+    void frameLengthMatchesHeaderAndBody() throws IOException {
+        byte[] frame = encode(MazeGenerator.generate(4, 6, "animals", 1));
+        byte[] header = Arrays.copyOf(frame, BinaryMazeCodec.HEADER_BYTES);
+        assertEquals(BinaryMazeCodec.bodyLength(4, 6), BinaryMazeCodec.bodyLength(header));
+        assertEquals(BinaryMazeCodec.HEADER_BYTES + 12 + 48, frame.length);
+    }
+
+    @Test
+    void rejectsWrongMagic() throws IOException {
+        byte[] header = header(MazeGenerator.generate(3, 3, "animals", 1));
+        header[1] = 'X';
+        assertThrows(IOException.class, () -> BinaryMazeCodec.bodyLength(header));
+    }
+
+    @Test
+    void rejectsUnknownVersion() throws IOException {
+        byte[] header = header(MazeGenerator.generate(3, 3, "animals", 1));
+        header[2] = BinaryMazeCodec.VERSION + 1;
+        assertThrows(IOException.class, () -> BinaryMazeCodec.bodyLength(header));
+    }
+
+    @Test
+    void rejectsEmptyNegativeAndHugeDimensions() throws IOException {
+        byte[] header = header(MazeGenerator.generate(3, 3, "animals", 1));
+        for (int[] size : new int[][]{{0, 3}, {3, -1}, {65_536, 65_536}}) {
+            ByteBuffer.wrap(header).putInt(4, size[0]).putInt(8, size[1]);
+            assertThrows(IOException.class, () -> BinaryMazeCodec.bodyLength(header));
+        }
+    }
+
+    @Test
+    void truncatedBodyFailsInsteadOfDecodingGarbage() throws IOException {
+        byte[] frame = encode(MazeGenerator.generate(3, 3, "animals", 1));
+        byte[] truncated = Arrays.copyOf(frame, frame.length - 1);
+        assertThrows(EOFException.class,
+                () -> BinaryMazeCodec.read(new ProtocolInputStream(new ByteArrayInputStream(truncated)), new Maze()));
+    }
+
+    private static byte[] encode(Maze maze) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMazeCodec.write(out, maze);
+        return out.toByteArray();
+    }
+
+    private static byte[] header(Maze maze) throws IOException {
+        return Arrays.copyOf(encode(maze), BinaryMazeCodec.HEADER_BYTES);
+    }
+}
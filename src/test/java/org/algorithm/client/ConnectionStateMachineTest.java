@@ -0,0 +1,140 @@
+package org.algorithm.client;
+
+import org.algorithm.maze_builder.Maze;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.algorithm.client.ConnectionState.BACKING_OFF;
+import static org.algorithm.client.ConnectionState.CLOSED;
+import static org.algorithm.client.ConnectionState.CONNECTED;
+import static org.algorithm.client.ConnectionState.CONNECTING;
+import static org.algorithm.client.ConnectionState.DISCONNECTED;
+import static org.algorithm.client.ConnectionState.HANDSHAKING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionStateMachineTest {
+    private final List<ConnectionState> reported = new CopyOnWriteArrayList<>();
+    private final ConnectionStateMachine state = new ConnectionStateMachine(new StateListener());
+
+    @Test
+    void reconnectCycleIsReportedInOrder() {
+        assertEquals(DISCONNECTED, state.get());
+        assertTrue(state.transition(DISCONNECTED, CONNECTING));
+        assertTrue(state.transition(CONNECTING, HANDSHAKING));
+        assertTrue(state.transition(HANDSHAKING, CONNECTED));
+        assertTrue(state.transition(CONNECTED, BACKING_OFF));
+        assertTrue(state.transition(BACKING_OFF, CONNECTING));
+        assertTrue(state.transition(CONNECTING, BACKING_OFF));
+        assertEquals(List.of(CONNECTING, HANDSHAKING, CONNECTED, BACKING_OFF, CONNECTING, BACKING_OFF), reported);
+    }
+
+    @Test
+    void transitionFromAnotherStateFails() {
+        assertFalse(state.transition(CONNECTED, BACKING_OFF));
+        assertEquals(DISCONNECTED, state.get());
+        assertTrue(reported.isEmpty());
+    }
+
+    @Test
+    void onlyOneThreadWinsTheMoveToBackingOff() throws Exception {
+        state.moveTo(CONNECTED);
+        reported.clear();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        CompletableFuture<?>[] threads = new CompletableFuture<?>[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (state.transition(CONNECTED, BACKING_OFF)) winners.incrementAndGet();
+            });
+        }
+        start.countDown();
+        CompletableFuture.allOf(threads).get(5, TimeUnit.SECONDS);
+        assertEquals(1, winners.get());
+        assertEquals(List.of(BACKING_OFF), reported);
+    }
+
+    @Test
+    void closedIsFinal() {
+        assertTrue(state.moveTo(CLOSED));
+        assertFalse(state.isOpen());
+        assertFalse(state.moveTo(CONNECTING));
+        assertEquals(CLOSED, state.get());
+        assertEquals(List.of(CLOSED), reported);
+    }
+
+    @Test
+    void awaitConnectedReturnsOnceConnected() throws Exception {
+        state.moveTo(BACKING_OFF);
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(this::awaitConnected);
+        Thread.sleep(50);
+        assertFalse(waiter.isDone());
+        state.transition(BACKING_OFF, CONNECTING);
+        state.transition(CONNECTING, CONNECTED);
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertTrue(state.awaitConnected());
+    }
+
+    @Test
+    void awaitConnectedReturnsFalseOnceClosed() throws Exception {
+        state.moveTo(CONNECTING);
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(this::awaitConnected);
+        state.moveTo(CLOSED);
+        assertFalse(waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    private boolean awaitConnected() {
+        try {
+            return state.awaitConnected();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class StateListener implements GameListener {
+        @Override
+        public void onConnectionStateChanged(ConnectionState next) {
+            reported.add(next);
+        }
+
+        @Override
+        public void onMazeLoaded(Maze maze) {
+        }
+
+        @Override
+        public void onOpponentMove(int row, int col) {
+        }
+
+        @Override
+        public void onTurnChange(boolean playerTurn) {
+        }
+
+        @Override
+        public void onScore(int score) {
+        }
+
+        @Override
+        public void onOpponentScore(int score) {
+        }
+
+        @Override
+        public void onMoveAck(int sequence, int row, int col, int score) {
+        }
+
+        @Override
+        public void onGameOver() {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.algorithm.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeflateFrameCodecTest {
+
+    @Test
+    void roundTripsCompressibleAndRandomPayloads() throws IOException {
+        byte[] text = "node\n(1,2)\n".repeat(500).getBytes(StandardCharsets.US_ASCII);
+        byte[] noise = new byte[10_000];
+        new Random(7).nextBytes(noise);
+        for (byte[] raw : new byte[][]{text, noise, new byte[0]}) {
+            for (int level : new int[]{0, 1, 9}) {
+                byte[] frame = DeflateFrameCodec.compress(raw, level);
+                assertArrayEquals(raw, DeflateFrameCodec.read(new ProtocolInputStream(new ByteArrayInputStream(frame))));
+            }
+        }
+    }
+
+    @Test
+    void headerAnnouncesTheBodyThatFollows() throws IOException {
+        byte[] frame = DeflateFrameCodec.compress(new byte[4096], 6);
+        byte[] header = Arrays.copyOf(frame, DeflateFrameCodec.HEADER_BYTES);
+        assertEquals(frame.length - DeflateFrameCodec.HEADER_BYTES, DeflateFrameCodec.bodyLength(header));
+    }
+
+    @Test
+    void truncatedStreamFailsToRead() {
+        byte[] frame = DeflateFrameCodec.compress(new byte[4096], 6);
+        byte[] truncated = Arrays.copyOf(frame, frame.length - 2);
+        assertThrows(EOFException.class,
+                () -> DeflateFrameCodec.read(new ProtocolInputStream(new ByteArrayInputStream(truncated))));
+    }
+
+    @Test
+    void truncatedBodyFailsToInflate() {
+        byte[] raw = "maze".repeat(1000).getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = DeflateFrameCodec.compress(raw, 6);
+        byte[] header = Arrays.copyOf(frame, DeflateFrameCodec.HEADER_BYTES);
+        byte[] body = Arrays.copyOfRange(frame, DeflateFrameCodec.HEADER_BYTES, frame.length - 4);
+        assertThrows(IOException.class, () -> DeflateFrameCodec.inflate(header, body));
+    }
+
+    @Test
+    void rejectsBadMagicVersionAndLengths() {
+        byte[] frame = DeflateFrameCodec.compress(new byte[100], 6);
+        byte[] badMagic = Arrays.copyOf(frame, DeflateFrameCodec.HEADER_BYTES);
+        badMagic[0] = 'M';
+        assertThrows(IOException.class, () -> DeflateFrameCodec.bodyLength(badMagic));
+
+        byte[] badVersion = Arrays.copyOf(frame, DeflateFrameCodec.HEADER_BYTES);
+        badVersion[2] = DeflateFrameCodec.VERSION + 1;
+        assertThrows(IOException.class, () -> DeflateFrameCodec.bodyLength(badVersion));
+
+        byte[] negativeRaw = Arrays.copyOf(frame, DeflateFrameCodec.HEADER_BYTES);
+        ByteBuffer.wrap(negativeRaw).putInt(4, -1);
+        assertThrows(IOException.class, () -> DeflateFrameCodec.bodyLength(negativeRaw));
+
+        // A tiny payload cannot need a body of a megabyte
+        byte[] oversizedBody = Arrays.copyOf(frame, DeflateFrameCodec.HEADER_BYTES);
+        ByteBuffer.wrap(oversizedBody).putInt(8, 1 << 20);
+        assertThrows(IOException.class, () -> DeflateFrameCodec.bodyLength(oversizedBody));
+    }
+}
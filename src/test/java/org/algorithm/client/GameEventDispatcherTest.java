@@ -0,0 +1,131 @@
+package org.algorithm.client;
+
+import org.algorithm.maze_builder.Maze;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameEventDispatcherTest {
+
+    @Test
+    void parsesSingleNumbersPairsAndAcks() {
+        assertParsed("42", 42);
+        assertParsed("-3", -3);
+        assertParsed("(4,7)", 4, 7);
+        assertParsed("( 4 , 7 )", 4, 7);
+        assertParsed("(12,-1,0,300)", 12, -1, 0, 300);
+        assertParsed("()");
+    }
+
+    @Test
+    void rejectsMalformedNumbers() {
+        for (String text : new String[]{"(4,7", "4,", "(4,,7)", "abc", "(4;7)", "-", "2147483648", "(1,2,3,4,5)"}) {
+            byte[] line = ascii(text);
+            assertEquals(-1, GameEventDispatcher.parseNumbers(line, line.length, new int[4]), text);
+        }
+    }
+
+    @Test
+    void parsesOnlyTheGivenLength() {
+        // The transports reuse one buffer, bytes past the line are left over from earlier ones
+        byte[] line = ascii("(1,2)999");
+        int[] numbers = new int[4];
+        assertEquals(2, GameEventDispatcher.parseNumbers(line, 5, numbers));
+        assertArrayEquals(new int[]{1, 2}, Arrays.copyOf(numbers, 2));
+    }
+
+    @Test
+    void dispatchesMessagesAndTheirPayloads() {
+        RecordingListener listener = new RecordingListener();
+        GameEventDispatcher dispatcher = new GameEventDispatcher(listener);
+        feed(dispatcher, "turn", "node", "(3,4)", "not", "score", "12", "otherScore", "7",
+                "ack", "(5,3,5,13)", "bogus", "gameOver");
+        assertEquals(List.of("turn true", "opponent 3,4", "turn false", "score 12", "opponentScore 7",
+                "ack 5 3,5 13", "gameOver"), listener.events);
+    }
+
+    @Test
+    void malformedPayloadIsDroppedAndDispatchCarriesOn() {
+        RecordingListener listener = new RecordingListener();
+        GameEventDispatcher dispatcher = new GameEventDispatcher(listener);
+        feed(dispatcher, "node", "(3)", "score", "x", "turn");
+        assertEquals(List.of("turn true"), listener.events);
+    }
+
+    @Test
+    void numberedEventsAlreadyHandledAreSkippedWithTheirPayload() {
+        RecordingListener listener = new RecordingListener();
+        GameEventDispatcher dispatcher = new GameEventDispatcher(listener);
+        dispatcher.onResumeReply("session abc");
+        feed(dispatcher, "turn 1", "node 2", "(1,1)");
+        // Replayed after a reconnect: 2 again, then the new 3
+        feed(dispatcher, "node 2", "(1,1)", "node 3", "(2,2)");
+        assertEquals(List.of("turn true", "opponent 1,1", "opponent 2,2"), listener.events);
+        assertEquals("abc,3", dispatcher.resumeRequest());
+    }
+
+    private static void assertParsed(String text, int... expected) {
+        byte[] line = ascii(text);
+        int[] numbers = new int[4];
+        assertEquals(expected.length, GameEventDispatcher.parseNumbers(line, line.length, numbers), text);
+        assertArrayEquals(expected, Arrays.copyOf(numbers, expected.length), text);
+    }
+
+    private static void feed(GameEventDispatcher dispatcher, String... lines) {
+        byte[] buffer = new byte[64];
+        for (String line : lines) {
+            byte[] bytes = ascii(line);
+            System.arraycopy(bytes, 0, buffer, 0, bytes.length);
+            dispatcher.onLine(buffer, bytes.length);
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class RecordingListener implements GameListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onMazeLoaded(Maze maze) {
+            events.add("maze");
+        }
+
+        @Override
+        public void onOpponentMove(int row, int col) {
+            events.add("opponent " + row + "," + col);
+        }
+
+        @Override
+        public void onTurnChange(boolean playerTurn) {
+            events.add("turn " + playerTurn);
+        }
+
+        @Override
+        public void onScore(int score) {
+            events.add("score " + score);
+        }
+
+        @Override
+        public void onOpponentScore(int score) {
+            events.add("opponentScore " + score);
+        }
+
+        @Override
+        public void onMoveAck(int sequence, int row, int col, int score) {
+            events.add("ack " + sequence + " " + row + "," + col + " " + score);
+        }
+
+        @Override
+        public void onGameOver() {
+            events.add("gameOver");
+        }
+    }
+}
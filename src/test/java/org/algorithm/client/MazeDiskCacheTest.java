@@ -0,0 +1,94 @@
+package org.algorithm.client;
+
+import org.algorithm.maze_builder.Maze;
+import org.algorithm.server.MazeGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MazeDiskCacheTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void storedMazeLoadsBack() {
+        Maze maze = MazeGenerator.generate(6, 9, "animals", 5);
+        String hash = BinaryMazeCodec.contentHash(maze);
+        MazeDiskCache cache = new MazeDiskCache(directory, 1 << 20);
+        cache.store(hash, maze);
+
+        Maze loaded = new Maze();
+        assertTrue(cache.load(hash, loaded));
+        assertEquals(6, loaded.getNbRow());
+        assertEquals(9, loaded.getNbCol());
+        assertArrayEquals(maze.getGrid().borderArray(), loaded.getGrid().borderArray());
+        assertArrayEquals(maze.getGrid().valueArray(), loaded.getGrid().valueArray());
+        assertEquals(List.of(hash), cache.recentHashes(8));
+    }
+
+    @Test
+    void flippedCellByteIsDroppedAsCorrupt() throws IOException {
+        Path file = storeOne();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertDropped(file);
+    }
+
+    @Test
+    void truncatedFileIsDroppedAsCorrupt() throws IOException {
+        Path file = storeOne();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertDropped(file);
+    }
+
+    @Test
+    void fileShorterThanTheHeaderIsDroppedAsCorrupt() throws IOException {
+        Path file = storeOne();
+        Files.write(file, new byte[]{'M', 'Z'});
+        assertDropped(file);
+    }
+
+    @Test
+    void fileUnderAnotherHashIsDroppedAsCorrupt() throws IOException {
+        Path file = storeOne();
+        String otherHash = "0".repeat(32);
+        Path other = Files.move(file, directory.resolve(otherHash + ".maze"));
+        MazeDiskCache cache = new MazeDiskCache(directory, 1 << 20);
+        assertFalse(cache.load(otherHash, new Maze()));
+        assertFalse(Files.exists(other));
+    }
+
+    @Test
+    void hashesThatAreNotHexAreNeverResolved() {
+        MazeDiskCache cache = new MazeDiskCache(directory, 1 << 20);
+        assertFalse(cache.load("../../../../etc/passwd-padding-x", new Maze()));
+        assertFalse(cache.load("abc", new Maze()));
+    }
+
+    private Path storeOne() {
+        Maze maze = MazeGenerator.generate(5, 5, "animals", 2);
+        new MazeDiskCache(directory, 1 << 20).store(BinaryMazeCodec.contentHash(maze), maze);
+        return directory.resolve(BinaryMazeCodec.contentHash(maze) + ".maze");
+    }
+
+    private void assertDropped(Path file) {
+        String name = file.getFileName().toString();
+        String hash = name.substring(0, name.length() - ".maze".length());
+        MazeDiskCache cache = new MazeDiskCache(directory, 1 << 20);
+        assertFalse(cache.load(hash, new Maze()));
+        assertFalse(Files.exists(file));
+        assertTrue(cache.recentHashes(8).isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+package org.algorithm.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveReconcilerTest {
+    // Open field, except that nothing may enter column 5
+    private final MoveReconciler reconciler = new MoveReconciler((fromRow, fromCol, toRow, toCol) -> toCol != 5);
+
+    @Test
+    void confirmedPredictionsChangeNothing() {
+        reconciler.reset(0, 0);
+        int first = reconciler.predict(0, 1);
+        int second = reconciler.predict(1, 0);
+
+        assertFalse(reconciler.onAck(first, 0, 1));
+        assertFalse(reconciler.isLastAckCorrected());
+        assertEquals(1, reconciler.getInFlight());
+        assertFalse(reconciler.onAck(second, 1, 1));
+        assertEquals(0, reconciler.getInFlight());
+        assertEquals(1, reconciler.getPredictedRow());
+        assertEquals(1, reconciler.getPredictedCol());
+        assertEquals(0, reconciler.getRollbacks());
+    }
+
+    @Test
+    void rejectedMoveReplaysTheMovesStillInFlight() {
+        reconciler.reset(2, 2);
+        int rejected = reconciler.predict(0, 1);
+        reconciler.predict(1, 0);
+        reconciler.predict(0, -1);
+
+        // The server kept the player on (2,2): the other two replay from there
+        assertTrue(reconciler.onAck(rejected, 2, 2));
+        assertTrue(reconciler.isLastAckCorrected());
+        assertEquals(3, reconciler.getPredictedRow());
+        assertEquals(1, reconciler.getPredictedCol());
+        assertEquals(2, reconciler.getInFlight());
+        assertEquals(1, reconciler.getRollbacks());
+        assertEquals(List.of("2:3,2", "3:3,1"), inFlight());
+    }
+
+    @Test
+    void replayDropsMovesThatNoLongerFit() {
+        reconciler.reset(0, 3);
+        int first = reconciler.predict(0, -1);
+        reconciler.predict(1, 0);
+        reconciler.predict(0, 1);
+
+        // Corrected to (0,4): the third move now leads into column 5 and is dropped
+        assertTrue(reconciler.onAck(first, 0, 4));
+        assertEquals(List.of("2:1,4"), inFlight());
+        assertEquals(1, reconciler.getPredictedRow());
+        assertEquals(4, reconciler.getPredictedCol());
+    }
+
+    @Test
+    void correctionLandingOnThePredictionIsNotARollback() {
+        reconciler.reset(0, 4);
+        int first = reconciler.predict(0, -1);
+        reconciler.predict(0, 1);
+
+        // Rejected, and the second move no longer fits: the player stays on (0,4), as predicted
+        assertFalse(reconciler.onAck(first, 0, 4));
+        assertTrue(reconciler.isLastAckCorrected());
+        assertEquals(0, reconciler.getInFlight());
+        assertEquals(0, reconciler.getRollbacks());
+    }
+
+    @Test
+    void staleAcknowledgementsAreIgnored() {
+        reconciler.reset(0, 0);
+        int first = reconciler.predict(0, 1);
+        assertFalse(reconciler.onAck(first, 0, 1));
+        assertFalse(reconciler.onAck(first, 7, 7));
+        assertFalse(reconciler.isLastAckCorrected());
+        assertEquals(0, reconciler.getPredictedRow());
+        assertEquals(1, reconciler.getPredictedCol());
+    }
+
+    private List<String> inFlight() {
+        List<String> moves = new ArrayList<>();
+        reconciler.forEachInFlight((sequence, row, col) -> moves.add(sequence + ":" + row + "," + col));
+        return moves;
+    }
+}
@@ -0,0 +1,35 @@
+package org.algorithm.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerExtensionsTest {
+
+    @Test
+    void replyParsesBackToTheListedRequests() {
+        ServerExtensions extensions = ServerExtensions.parse(ServerExtensions.reply(List.of(ServerExtensions.MAZE_FORMAT, ServerExtensions.RESUME)));
+        assertTrue(extensions.supports(ServerExtensions.MAZE_FORMAT));
+        assertTrue(extensions.supports(ServerExtensions.RESUME));
+        assertFalse(extensions.supports(ServerExtensions.MOVE_PROTOCOL));
+    }
+
+    @Test
+    void serverWithoutExtensionsSupportsNothing() {
+        ServerExtensions extensions = ServerExtensions.parse("extensions");
+        for (String request : ServerExtensions.ALL) {
+            assertFalse(extensions.supports(request), request);
+        }
+    }
+
+    @Test
+    void anyOtherReplyIsNotAList() {
+        assertNull(ServerExtensions.parse(null));
+        assertNull(ServerExtensions.parse("12"));
+        assertNull(ServerExtensions.parse("heartbeatAck"));
+    }
+}
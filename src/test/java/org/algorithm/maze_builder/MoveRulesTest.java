@@ -0,0 +1,118 @@
+package org.algorithm.maze_builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MoveRulesTest {
+
+    @Test
+    void directionIsTheIndexOfItsDeltas() {
+        for (int d = 0; d < MoveRules.DELTA_ROW.length; d++) {
+            assertEquals(d, MoveRules.direction(MoveRules.DELTA_ROW[d], MoveRules.DELTA_COL[d]));
+        }
+        assertEquals(-1, MoveRules.direction(0, 0));
+        assertEquals(-1, MoveRules.direction(2, 0));
+        assertEquals(-1, MoveRules.direction(0, -2));
+        assertEquals(-1, MoveRules.direction(-2, 2));
+    }
+
+    @Test
+    void possibleMoveMatchesTheBooleanRulesForEveryWallCombination() {
+        for (int dRow = -2; dRow <= 2; dRow++) {
+            for (int dCol = -2; dCol <= 2; dCol++) {
+                for (int current = 0; current <= MazeGrid.ALL_BORDERS; current++) {
+                    for (int next = 0; next <= MazeGrid.ALL_BORDERS; next++) {
+                        assertEquals(baselinePossibleMove(dRow, dCol, walls(current), walls(next)),
+                                MoveRules.possibleMove(dRow, dCol, current, next),
+                                dRow + "," + dCol + " from " + current + " to " + next);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void moveMaskAgreesWithTheBaselineOnRandomGrids() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            int rows = 1 + random.nextInt(8);
+            int cols = 1 + random.nextInt(8);
+            MazeGrid grid = new MazeGrid(rows, cols);
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    grid.setBorders(row, col, random.nextInt(MazeGrid.ALL_BORDERS + 1));
+                }
+            }
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    for (int dRow = -2; dRow <= 2; dRow++) {
+                        for (int dCol = -2; dCol <= 2; dCol++) {
+                            int newRow = row + dRow;
+                            int newCol = col + dCol;
+                            assertEquals(baselineIsValidMove(grid, row, col, newRow, newCol),
+                                    MoveRules.isValidMove(grid, row, col, newRow, newCol),
+                                    "(" + row + "," + col + ") to (" + newRow + "," + newCol + ")");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void moveMaskFollowsSetBorders() {
+        MazeGrid grid = new MazeGrid(2, 2);
+        int right = MoveRules.direction(0, 1);
+        assertEquals(0, grid.moveMask(0, 0));
+        grid.setBorders(0, 0, 0);
+        grid.setBorders(0, 1, 0);
+        assertEquals(1 << right, grid.moveMask(0, 0) & (1 << right));
+        grid.setBorders(0, 0, MazeGrid.RIGHT);
+        assertEquals(0, grid.moveMask(0, 0) & (1 << right));
+    }
+
+    // The visualizer's checks before the bit masks, on the Node border arrays (top, right, bottom, left)
+    private static boolean baselineIsValidMove(MazeGrid grid, int oldRow, int oldCol, int newRow, int newCol) {
+        if (newRow < 0 || newRow >= grid.getRows() || newCol < 0 || newCol >= grid.getCols()) return false;
+        return baselinePossibleMove(newRow - oldRow, newCol - oldCol,
+                walls(grid.getBorders(oldRow, oldCol)), walls(grid.getBorders(newRow, newCol)));
+    }
+
+    private static boolean baselinePossibleMove(int dRow, int dCol, boolean[] cBorders, boolean[] nBorders) {
+        return switch (dRow) {
+            case -1 -> {
+                yield switch (dCol) {
+                    case -1 -> (!cBorders[0] && !cBorders[3]) && (!nBorders[1] && !nBorders[2]);
+                    case 0 -> !cBorders[0] && !nBorders[2];
+                    case 1 -> (!cBorders[0] && !cBorders[1]) && (!nBorders[2] && !nBorders[3]);
+                    default -> false;
+                };
+            }
+            case 1 -> {
+                yield switch (dCol) {
+                    case -1 -> (!cBorders[2] && !cBorders[3]) && (!nBorders[1] && !nBorders[0]);
+                    case 0 -> !cBorders[2] && !nBorders[0];
+                    case 1 -> (!cBorders[1] && !cBorders[2]) && (!nBorders[0] && !nBorders[3]);
+                    default -> false;
+                };
+            }
+            case 0 -> {
+                yield switch (dCol) {
+                    case -1 -> !cBorders[3] && !nBorders[1];
+                    case 0 -> true;
+                    case 1 -> !cBorders[1] && !nBorders[3];
+                    default -> false;
+                };
+            }
+            default -> false;
+        };
+    }
+
+    private static boolean[] walls(int mask) {
+        return new boolean[]{(mask & MazeGrid.TOP) != 0, (mask & MazeGrid.RIGHT) != 0,
+                (mask & MazeGrid.BOTTOM) != 0, (mask & MazeGrid.LEFT) != 0};
+    }
+}
@@ -0,0 +1,66 @@
+package org.algorithm.maze_builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WordIndexTest {
+    private final WordIndex index = WordIndex.build(List.of("HE", "SHE", "HIS", "HERS"));
+
+    @Test
+    void reportsOverlappingWordsLongestFirst() {
+        assertEquals(List.of("", "", "SHE HE", "", "HERS"), wordsEndingAt("SHERS"));
+    }
+
+    @Test
+    void findsWordsThatStartInsideAnotherWord() {
+        assertEquals(List.of("", "HE", "", "", "", "HIS"), wordsEndingAt("HEHHIS"));
+        assertEquals(List.of("", "HE", "", "HE", "", "HE", "", "HERS"), wordsEndingAt("HEHEHERS"));
+    }
+
+    @Test
+    void matchesIgnoreCaseAndOtherCharactersRestart() {
+        assertEquals(List.of("", "HE", "", "", ""), wordsEndingAt("hE-SH"));
+        assertArrayEquals(new int[0], index.matches(index.next(index.next(index.start(), 'H'), '7')));
+    }
+
+    @Test
+    void emptyDictionaryNeverMatches() {
+        WordIndex empty = WordIndex.build(List.of());
+        int state = empty.start();
+        for (char letter : "ANYTHING".toCharArray()) {
+            state = empty.next(state, letter);
+            assertEquals(0, empty.matches(state).length);
+        }
+        assertEquals(0, empty.maxLength());
+        assertEquals(4, index.maxLength());
+    }
+
+    @Test
+    void buildNormalisesWordsAndSkipsTheOthers() {
+        WordIndex normalised = WordIndex.build(List.of(" she", "He ", "", "ÉTÉ", "X-RAY", "ÉCHO"));
+        int state = normalised.start();
+        for (char letter : "SHE".toCharArray()) state = normalised.next(state, letter);
+        assertArrayEquals(new int[]{3, 2}, normalised.matches(state));
+        assertEquals(3, normalised.maxLength());
+    }
+
+    // Words ending at each letter, longest first and space separated
+    private List<String> wordsEndingAt(String text) {
+        List<String> found = new ArrayList<>();
+        int state = index.start();
+        for (int i = 0; i < text.length(); i++) {
+            state = index.next(state, text.charAt(i));
+            List<String> words = new ArrayList<>();
+            for (int length : index.matches(state)) {
+                words.add(text.substring(i + 1 - length, i + 1).toUpperCase());
+            }
+            found.add(String.join(" ", words));
+        }
+        return found;
+    }
+}
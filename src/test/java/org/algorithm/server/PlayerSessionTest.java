@@ -0,0 +1,151 @@
+package org.algorithm.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerSessionTest {
+    private final StubServerOptions options = StubServerOptions.parse(new String[]{"--replay-buffer", "4", "--rows", "3", "--cols", "3"});
+    private final List<Socket> sockets = new ArrayList<>();
+    private StubGameServer server;
+
+    @AfterEach
+    void closeSockets() throws IOException {
+        for (Socket socket : sockets) socket.close();
+    }
+
+    @Test
+    void resumedConnectionGetsTheEventsItMissed() throws IOException {
+        server = new StubGameServer(options);
+        Player first = connect();
+        PlayerSession session = new PlayerSession("token", first.connection, server, options);
+        session.sendEvent("turn");
+        session.sendEvent("node", "(1,2)");
+        session.sendEvent("not");
+        assertEquals(List.of("turn 1", "node 2", "(1,2)", "not 3"), first.read(4));
+
+        Player second = connect();
+        assertTrue(session.claim(second.connection));
+        // Still in its handshake: buffered only
+        session.sendEvent("score", "5");
+        session.sendEvent("turn");
+
+        assertTrue(session.attach(second.connection, 2));
+        assertEquals(List.of("not 3", "score 4", "5", "turn 5"), second.read(4));
+        session.sendEvent("gameOver");
+        assertEquals(List.of("gameOver 6"), second.read(1));
+    }
+
+    @Test
+    void ringBufferWrapsAroundAndKeepsTheLastEvents() throws IOException {
+        server = new StubGameServer(options);
+        Player first = connect();
+        PlayerSession session = new PlayerSession("token", first.connection, server, options);
+        for (int i = 0; i < 9; i++) session.sendEvent("turn");
+
+        Player second = connect();
+        assertTrue(session.claim(second.connection));
+        // 6 to 9 are the four still buffered
+        assertTrue(session.attach(second.connection, 5));
+        assertEquals(List.of("turn 6", "turn 7", "turn 8", "turn 9"), second.read(4));
+    }
+
+    @Test
+    void eventsNoLongerBufferedCallForASnapshot() throws IOException {
+        server = new StubGameServer(options);
+        Player first = connect();
+        PlayerSession session = new PlayerSession("token", first.connection, server, options);
+        for (int i = 0; i < 6; i++) session.sendEvent("turn");
+
+        Player second = connect();
+        assertTrue(session.claim(second.connection));
+        assertFalse(session.attach(second.connection, 1));
+        // Seated anyway, the caller sends the snapshot and play goes on from there
+        session.sendEvent("not");
+        assertEquals(List.of("not 7"), second.read(1));
+    }
+
+    @Test
+    void secondClaimWinsOverAnEarlierOneStillInItsHandshake() throws IOException {
+        server = new StubGameServer(options);
+        Player first = connect();
+        PlayerSession session = new PlayerSession("token", first.connection, server, options);
+        session.sendEvent("turn");
+
+        Player stale = connect();
+        Player latest = connect();
+        assertTrue(session.claim(stale.connection));
+        assertTrue(session.claim(latest.connection));
+        assertTrue(session.attach(stale.connection, 0));
+        assertFalse(stale.connection.isOpen());
+        assertTrue(session.attach(latest.connection, 0));
+        assertEquals(List.of("turn 1"), latest.read(1));
+    }
+
+    @Test
+    void withoutATokenEventsAreNotNumbered() throws IOException {
+        server = new StubGameServer(options);
+        Player player = connect();
+        PlayerSession session = new PlayerSession(null, player.connection, server, options);
+        session.sendEvent("turn");
+        session.sendEvent("node", "(0,1)");
+        assertEquals(List.of("turn", "node", "(0,1)"), player.read(3));
+    }
+
+    @Test
+    void expiredSeatCannotBeClaimed() throws IOException {
+        StubServerOptions noGrace = StubServerOptions.parse(new String[]{"--resume-grace-s", "0", "--rows", "3", "--cols", "3"});
+        server = new StubGameServer(noGrace);
+        Player player = connect();
+        PlayerSession session = new PlayerSession("token", player.connection, server, noGrace);
+        session.detach(player.connection);
+        assertTrue(session.isExpired());
+        assertFalse(session.claim(connect().connection));
+        session.sendEvent("turn");
+        player.socket.setSoTimeout(200);
+        assertNull(player.readLineOrNull());
+    }
+
+    /** Server side connection of a loopback socket, with the client end to read what it sends. */
+    private record Player(PlayerConnection connection, Socket socket, BufferedReader in) {
+        List<String> read(int lines) throws IOException {
+            List<String> received = new ArrayList<>();
+            for (int i = 0; i < lines; i++) received.add(in.readLine());
+            return received;
+        }
+
+        String readLineOrNull() {
+            try {
+                return in.readLine();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private Player connect() throws IOException {
+        try (ServerSocket listener = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Socket client = new Socket(InetAddress.getLoopbackAddress(), listener.getLocalPort());
+            Socket accepted = listener.accept();
+            sockets.add(client);
+            sockets.add(accepted);
+            client.setSoTimeout(5_000);
+            BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            return new Player(new PlayerConnection(accepted, server, options, null), client, in);
+        }
+    }
+}